@@ -0,0 +1,84 @@
+package com.devsuperior.bds01.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.servlet.Filter;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// Ativo com bds01.datasource.replica.url: leituras readOnly na réplica, escritas e inicialização no primário
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "bds01.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("bds01.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${bds01.datasource.replica.url}") String url,
+            @Value("${bds01.datasource.replica.username}") String username,
+            @Value("${bds01.datasource.replica.password}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+            @Value("${bds01.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${bds01.datasource.replica.max-lag}") Duration maxLag) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(lagMonitor);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReplicaRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public FilterRegistrationBean<Filter> readYourWritesFilter() {
+        Filter filter = (request, response, chain) -> {
+            ReplicaRoutingDataSource.resetReadYourWrites();
+            try {
+                chain.doFilter(request, response);
+            }
+            finally {
+                ReplicaRoutingDataSource.resetReadYourWrites();
+            }
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
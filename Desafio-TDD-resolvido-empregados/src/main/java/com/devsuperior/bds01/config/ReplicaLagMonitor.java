@@ -0,0 +1,53 @@
+package com.devsuperior.bds01.config;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// lag-query devolve o atraso da réplica em segundos, no dialeto do banco (no PostgreSQL:
+// SELECT EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())). Sem ela, só a conectividade é verificada.
+// A réplica fica fora da rota enquanto inacessível ou atrasada mais que maxLag, e até a primeira verificação
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean usable;
+    private volatile Duration lag = Duration.ZERO;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${bds01.datasource.replica.lag-check-interval}")
+    public void check() {
+        try {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                replica.queryForObject("SELECT 1", Integer.class);
+                lag = Duration.ZERO;
+            }
+            else {
+                Double seconds = replica.queryForObject(lagQuery, Double.class);
+                lag = seconds == null ? Duration.ZERO : Duration.ofMillis((long) (seconds * 1000));
+            }
+            usable = lag.compareTo(maxLag) <= 0;
+        }
+        catch (DataAccessException e) {
+            usable = false;
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+}
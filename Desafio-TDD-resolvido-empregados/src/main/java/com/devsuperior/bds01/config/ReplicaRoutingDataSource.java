@@ -0,0 +1,40 @@
+package com.devsuperior.bds01.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Transações readOnly vão para a réplica, o resto para o primário. Fica atrás de um LazyConnectionDataSourceProxy,
+// que adia a escolha até o primeiro SQL, quando a transação já está marcada como readOnly
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    // Read-your-writes: depois de uma escrita, o resto da requisição lê do primário
+    private static final ThreadLocal<Boolean> wrote = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                wrote.set(Boolean.TRUE);
+            }
+            return Route.PRIMARY;
+        }
+        if (wrote.get() || !lagMonitor.isReplicaUsable()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    public static void resetReadYourWrites() {
+        wrote.remove();
+    }
+}
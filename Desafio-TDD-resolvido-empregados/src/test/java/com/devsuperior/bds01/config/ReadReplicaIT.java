@@ -0,0 +1,127 @@
+package com.devsuperior.bds01.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.devsuperior.bds01.dto.DepartmentDTO;
+import com.devsuperior.bds01.dto.EmployeeDTO;
+import com.devsuperior.bds01.service.DepartmentService;
+import com.devsuperior.bds01.service.EmployeeService;
+
+// Dois H2 em memória: testdb é o primário e replica a réplica, copiada do primário com SCRIPT/RUNSCRIPT.
+// O atraso vem da tabela replica_lag, criada só na réplica
+@SpringBootTest(properties = {
+		"bds01.datasource.replica.url=" + ReadReplicaIT.REPLICA_URL,
+		"bds01.datasource.replica.lag-query=SELECT seconds FROM replica_lag",
+		"bds01.datasource.replica.max-lag=5s",
+		"bds01.datasource.replica.lag-check-interval=PT1H"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReadReplicaIT {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private ReplicaLagMonitor lagMonitor;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private JdbcTemplate replica;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+		replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+		Path script = Files.createTempFile("replica", ".sql");
+		try {
+			primary.execute("SCRIPT TO '" + script + "'");
+			replica.execute("DROP ALL OBJECTS");
+			replica.execute("RUNSCRIPT FROM '" + script + "'");
+		}
+		finally {
+			Files.deleteIfExists(script);
+		}
+		replica.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+		replica.update("INSERT INTO replica_lag VALUES (0)");
+		replica.update("UPDATE tb_department SET name = 'Réplica' WHERE id = 1");
+		lagMonitor.check();
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReplicaRoutingDataSource.resetReadYourWrites();
+		replica.execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	public void readOnlyTransactionsShouldUseReplica() throws Exception {
+		Assertions.assertTrue(lagMonitor.isReplicaUsable());
+		Assertions.assertTrue(departmentNames().contains("Réplica"));
+
+		mockMvc.perform(get("/departments").accept(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$[?(@.id == 1)].name").value("Réplica"));
+	}
+
+	@Test
+	public void readsAfterWriteShouldStayOnPrimaryUntilRequestEnds() {
+		employeeService.insert(new EmployeeDTO(null, "Joaquim", "joaquim@gmail.com", 1L));
+
+		Assertions.assertTrue(departmentNames().contains("Sales"));
+
+		ReplicaRoutingDataSource.resetReadYourWrites();
+		Assertions.assertTrue(departmentNames().contains("Réplica"));
+	}
+
+	@Test
+	public void replicaShouldLeaveRotationWhileLaggingOrUnreachable() {
+		replica.update("UPDATE replica_lag SET seconds = 60");
+		lagMonitor.check();
+		Assertions.assertFalse(lagMonitor.isReplicaUsable());
+		Assertions.assertTrue(departmentNames().contains("Sales"));
+
+		replica.update("UPDATE replica_lag SET seconds = 1");
+		lagMonitor.check();
+		Assertions.assertTrue(lagMonitor.isReplicaUsable());
+
+		replica.execute("DROP TABLE replica_lag");
+		lagMonitor.check();
+		Assertions.assertFalse(lagMonitor.isReplicaUsable());
+	}
+
+	private List<String> departmentNames() {
+		return departmentService.findAll().stream().map(DepartmentDTO::getName).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,63 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devsuperior.dscatalog.DscatalogApplication;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+
+// Dados determinísticos para que os resultados sejam comparáveis entre versões
+public class BenchmarkData {
+
+	public static final Instant DATE = Instant.parse("2020-07-13T20:50:07Z");
+	public static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(8);
+
+	public static Product product(long id, int categories) {
+		Product product = new Product(id, "Product " + id, DESCRIPTION, 10.0 + id % 1000, "https://img.com/" + id + ".png", DATE);
+		for (long c = 1; c <= categories; c++) {
+			product.getCategories().add(new Category(c, "Category " + c));
+		}
+		return product;
+	}
+
+	public static ProductDTO productDTO(long id, int categories) {
+		ProductDTO dto = new ProductDTO(id, "Product " + id, DESCRIPTION, 10.0 + id % 1000, "https://img.com/" + id + ".png", DATE);
+		for (long c = 1; c <= categories; c++) {
+			dto.getCategories().add(new CategoryDTO(c, "Category " + c));
+		}
+		return dto;
+	}
+
+	// Sobe a aplicação sem servidor web, com H2 em memória exclusivo e o catálogo gerado
+	public static ConfigurableApplicationContext startApplication(int products) {
+		SpringApplication application = new SpringApplicationBuilder(DscatalogApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.datasource.url=jdbc:h2:mem:jmh",
+						"spring.jpa.show-sql=false",
+						"spring.h2.console.enabled=false",
+						"logging.level.root=WARN")
+				.build();
+		ConfigurableApplicationContext context = application.run();
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		List<Object[]> batch = new ArrayList<>();
+		for (int i = 0; i < products; i++) {
+			batch.add(new Object[] { String.format("Generated %07d", i), 10.0 + i % 1000, Timestamp.from(DATE), DESCRIPTION, "" });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO tb_product (name, price, date, description, img_url) VALUES (?, ?, ?, ?, ?)", batch);
+		jdbcTemplate.update("INSERT INTO tb_product_category (product_id, category_id) "
+				+ "SELECT id, MOD(id, 3) + 1 FROM tb_product WHERE id > 25");
+		return context;
+	}
+}
@@ -0,0 +1,58 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PageSerializationBenchmark {
+
+	@Param({ "12", "100" })
+	private int pageSize;
+
+	@Param({ "1", "3" })
+	private int categories;
+
+	// Mesma configuração de Jackson que o Spring Boot aplica ao ObjectMapper da aplicação
+	private ObjectMapper objectMapper;
+	private PageImpl<ProductDTO> page;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		List<ProductDTO> content = new ArrayList<>();
+		for (long id = 1; id <= pageSize; id++) {
+			content.add(BenchmarkData.productDTO(id, categories));
+		}
+		page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+	}
+
+	@Benchmark
+	public byte[] serializePage() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(page);
+	}
+}
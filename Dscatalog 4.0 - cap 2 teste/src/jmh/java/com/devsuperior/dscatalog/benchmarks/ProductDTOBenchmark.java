@@ -0,0 +1,47 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProductDTOBenchmark {
+
+	@Param({ "0", "1", "5", "20" })
+	private int categories;
+
+	private Product product;
+
+	@Setup
+	public void setUp() {
+		product = BenchmarkData.product(1L, categories);
+	}
+
+	@Benchmark
+	public ProductDTO fromEntity() {
+		return new ProductDTO(product);
+	}
+
+	@Benchmark
+	public ProductDTO fromEntityWithCategories() {
+		return new ProductDTO(product, product.getCategories());
+	}
+}
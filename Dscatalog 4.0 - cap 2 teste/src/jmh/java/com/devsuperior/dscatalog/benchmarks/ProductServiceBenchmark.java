@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.ProductService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductServiceBenchmark {
+
+	private static final int PRODUCTS = 10_000;
+
+	@Param({ "12", "100" })
+	private int pageSize;
+
+	@Param({ "false", "true" })
+	private boolean includeDescription;
+
+	private ConfigurableApplicationContext context;
+	private ProductService service;
+	private PageRequest deepPage;
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkData.startApplication(PRODUCTS);
+		service = context.getBean(ProductService.class);
+		deepPage = PageRequest.of(PRODUCTS / pageSize / 2, pageSize, Sort.by("name"));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Page<ProductDTO> findAllPaged() {
+		return service.findAllPaged(deepPage, includeDescription);
+	}
+}
@@ -0,0 +1,28 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String PRODUCTS = "products";
+
+	@Value("${dscatalog.cache.products.spec}")
+	private String productsSpec;
+
+	@Bean
+	public CacheManager cacheManager() {
+		CaffeineCacheManager caffeine = new CaffeineCacheManager(PRODUCTS);
+		caffeine.setCacheSpecification(productsSpec);
+		caffeine.setAllowNullValues(false);
+		// Evicts só acontecem após o commit, senão uma leitura concorrente recolocaria o valor antigo no cache
+		return new TransactionAwareCacheManagerProxy(caffeine);
+	}
+}
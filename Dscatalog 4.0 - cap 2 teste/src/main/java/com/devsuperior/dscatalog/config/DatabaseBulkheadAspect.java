@@ -0,0 +1,63 @@
+package com.devsuperior.dscatalog.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+
+// Limita o trabalho JDBC simultâneo abaixo do número de carriers das virtual threads. Quem passa do limite espera
+// no Semaphore (a virtual thread desmonta do carrier) em vez de bloquear dentro de código synchronized do driver,
+// que prende (pin) o carrier. Com uma permissão a menos que carriers, mesmo com todas as chamadas presas sobra um
+// carrier para as demais virtual threads; com uma por carrier, todas podem ficar presas e a aplicação inteira para.
+// Roda por fora do interceptor de @Transactional: a espera acontece antes de pegar uma conexão. Métodos que
+// devolvem Publisher (repositórios R2DBC) ficam de fora: a consulta só roda na assinatura, depois do retorno.
+// A exportação também: seguraria uma permissão durante todo o download e poucos clientes lentos deixariam o resto
+// da aplicação sem banco. Ela tem o próprio limite (dscatalog.export.max-concurrent) e as consultas que faz passam
+// pelo bulkhead uma a uma.
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseBulkheadAspect {
+
+	private final Semaphore permits;
+	private final long timeoutMillis;
+	private final ThreadLocal<Boolean> holding = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	public DatabaseBulkheadAspect(int permits, long timeoutMillis) {
+		this.permits = new Semaphore(permits, true);
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	@Around("((@annotation(org.springframework.transaction.annotation.Transactional) "
+			+ "&& within(com.devsuperior.dscatalog.services..*)) "
+			+ "|| execution(* com.devsuperior.dscatalog.repositories..*.*(..)) "
+			+ "|| execution(* org.springframework.data.repository.Repository+.*(..))) "
+			+ "&& !execution(org.reactivestreams.Publisher+ *(..)) "
+			+ "&& !execution(* com.devsuperior.dscatalog.services.ProductExportService.exportAll(..))")
+	public Object limit(ProceedingJoinPoint pjp) throws Throwable {
+		// Chamadas aninhadas (repositório dentro de um service @Transactional) reaproveitam a permissão
+		if (holding.get()) {
+			return pjp.proceed();
+		}
+		if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+			throw new ServiceUnavailableException("Banco de dados ocupado, tente novamente");
+		}
+		holding.set(Boolean.TRUE);
+		try {
+			return pjp.proceed();
+		}
+		finally {
+			holding.remove();
+			permits.release();
+		}
+	}
+
+	public int availablePermits() {
+		return permits.availablePermits();
+	}
+}
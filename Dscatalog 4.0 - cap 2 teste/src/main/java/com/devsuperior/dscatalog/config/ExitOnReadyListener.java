@@ -0,0 +1,19 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+// Execução de treino do arquivo CDS (profile cds do Maven): sobe a aplicação inteira e encerra a JVM,
+// que grava em -XX:ArchiveClassesAtExit as classes carregadas até aqui
+@Component
+@ConditionalOnProperty(name = "dscatalog.startup.exit-on-ready", havingValue = "true")
+public class ExitOnReadyListener implements ApplicationListener<ApplicationReadyEvent> {
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		System.exit(SpringApplication.exit(event.getApplicationContext()));
+	}
+}
@@ -0,0 +1,83 @@
+package com.devsuperior.dscatalog.config;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.devsuperior.dscatalog.dto.BatchItemErrorDTO;
+import com.devsuperior.dscatalog.dto.BatchResultDTO;
+import com.devsuperior.dscatalog.dto.BulkResultDTO;
+import com.devsuperior.dscatalog.dto.CatalogVersionDTO;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.DeltaDTO;
+import com.devsuperior.dscatalog.dto.PriceAdjustmentDTO;
+import com.devsuperior.dscatalog.dto.PriceRangeFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFacetsDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.entities.CatalogVersion;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.ChangeEvent;
+import com.devsuperior.dscatalog.entities.ChangeFeedPosition;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.entities.Tombstone;
+import com.devsuperior.dscatalog.resources.exceptions.ResourceExceptionHandler;
+import com.devsuperior.dscatalog.resources.exceptions.StandardError;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// Hints do native-image (mvn -Pnative native:compile) para o que o AOT do Spring não deduz das assinaturas
+// dos controllers: JSON escrito fora do MVC (exportação NDJSON, FileChangeSink), o tipo concreto das páginas,
+// o corpo de erro do ResourceExceptionHandler e o que é carregado por nome ou por reflexão
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.DscatalogRuntimeHints.class)
+public class NativeHintsConfig {
+
+	static final Class<?>[] ENTITIES = { Product.class, Category.class, CatalogVersion.class, ChangeEvent.class,
+			ChangeFeedPosition.class, Tombstone.class };
+
+	static final Class<?>[] JSON_TYPES = { BatchItemErrorDTO.class, BatchResultDTO.class, BulkResultDTO.class,
+			CatalogVersionDTO.class, CategoryDTO.class, CategoryFacetDTO.class, ChangeEventDTO.class,
+			ChangeFeedDTO.class, CursorSliceDTO.class, DeltaDTO.class, PriceAdjustmentDTO.class,
+			PriceRangeFacetDTO.class, ProductDTO.class, ProductFacetsDTO.class, ProductFilterDTO.class,
+			StandardError.class, PageImpl.class, PageRequest.class, Sort.class, Sort.Order.class };
+
+	static class DscatalogRuntimeHints implements RuntimeHintsRegistrar {
+
+		@Override
+		public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+			new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES);
+
+			// Hibernate lê os campos, instancia pelo construtor sem argumentos e chama @PrePersist/@PreUpdate
+			for (Class<?> entity : ENTITIES) {
+				hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+						MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+			}
+			hints.reflection().registerType(ResourceExceptionHandler.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+			// Carga inicial do Hibernate e configuração padrão do Caffeine JCache
+			hints.resources().registerPattern("import.sql");
+			hints.resources().registerPattern("reference.conf");
+
+			// Provider do cache de segundo nível, obtido pelo nome (SecondLevelCacheConfig)
+			hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+			// dscatalog.threads.mode=virtual (VirtualThreadsConfig)
+			hints.reflection().registerType(Executors.class,
+					type -> type.withMethod("newVirtualThreadPerTaskExecutor", List.of(), ExecutableMode.INVOKE));
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.devsuperior.dscatalog.resources.ReactiveCatalogHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+// Profile reactive: a aplicação continua servlet (Tomcat + MVC) e ganha um segundo servidor, Reactor Netty
+// em dscatalog.reactive.port, com a API de leitura não bloqueante via R2DBC sobre o mesmo banco
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+	private ConnectionPool pool;
+
+	// O ConnectionFactory não vira bean: com um bean desse tipo o Boot desliga o DataSource usado pelo JPA
+	@Bean
+	public DatabaseClient reactiveDatabaseClient(@Value("${dscatalog.reactive.r2dbc.url}") String url,
+			@Value("${dscatalog.reactive.r2dbc.username}") String username,
+			@Value("${dscatalog.reactive.r2dbc.password}") String password,
+			@Value("${dscatalog.reactive.r2dbc.pool-size}") int poolSize) {
+		ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+				.option(ConnectionFactoryOptions.USER, username)
+				.option(ConnectionFactoryOptions.PASSWORD, password)
+				.build();
+		pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+				.maxSize(poolSize)
+				.build());
+		return DatabaseClient.create(pool);
+	}
+
+	@PreDestroy
+	public void closePool() {
+		if (pool != null) {
+			pool.dispose();
+		}
+	}
+
+	@Bean
+	public RouterFunction<ServerResponse> reactiveRoutes(ReactiveCatalogHandler handler) {
+		return RouterFunctions.route()
+				.GET("/products", handler::findAllProducts)
+				.GET("/products/{id}", handler::findProductById)
+				.GET("/categories", handler::findAllCategories)
+				.GET("/categories/{id}", handler::findCategoryById)
+				.build();
+	}
+
+	// Mesmo ObjectMapper do MVC, para o JSON das duas APIs ser idêntico (datas ISO-8601 etc.)
+	@Bean
+	public HandlerStrategies reactiveHandlerStrategies(ObjectMapper objectMapper) {
+		return HandlerStrategies.builder().codecs(codecs -> {
+			codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+			codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+		}).build();
+	}
+
+	// Nada depende do servidor: com spring.main.lazy-initialization ele nunca subiria
+	@Bean
+	public static LazyInitializationExcludeFilter reactiveServerLazyInitializationExcludeFilter() {
+		return LazyInitializationExcludeFilter.forBeanTypes(DisposableServer.class);
+	}
+
+	@Bean(destroyMethod = "disposeNow")
+	public DisposableServer reactiveServer(RouterFunction<ServerResponse> reactiveRoutes,
+			HandlerStrategies reactiveHandlerStrategies, @Value("${dscatalog.reactive.port}") int port) {
+		HttpHandler handler = RouterFunctions.toHttpHandler(reactiveRoutes, reactiveHandlerStrategies);
+		return HttpServer.create().port(port).handle(new ReactorHttpHandlerAdapter(handler)).bindNow();
+	}
+}
@@ -0,0 +1,96 @@
+package com.devsuperior.dscatalog.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+
+// Com dscatalog.datasource.replica.url definida, o DataSource do JPA vira um roteador entre dois pools:
+// spring.datasource.* (primário: escritas, DDL, import.sql) e dscatalog.datasource.replica.* (leituras readOnly).
+// Sem a propriedade, o Boot configura o DataSource único de sempre
+@Configuration
+@ConditionalOnProperty(name = "dscatalog.datasource.replica.url")
+public class ReadReplicaConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("dscatalog.datasource.replica.hikari")
+	public HikariDataSource replicaDataSource(@Value("${dscatalog.datasource.replica.url}") String url,
+			@Value("${dscatalog.datasource.replica.username}") String username,
+			@Value("${dscatalog.datasource.replica.password}") String password) {
+		HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+				.url(url).username(username).password(password).build();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica,
+			@Value("${dscatalog.datasource.replica.max-lag}") Duration maxLag, MeterRegistry registry) {
+		ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, maxLag);
+		Gauge.builder("dscatalog.datasource.replica.lag", monitor, m -> m.lag().toMillis() / 1000.0)
+				.baseUnit("seconds")
+				.register(registry);
+		Gauge.builder("dscatalog.datasource.replica.usable", monitor, m -> m.isReplicaUsable() ? 1 : 0)
+				.register(registry);
+		return monitor;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor) {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(lagMonitor);
+		routing.setTargetDataSources(Map.of(
+				ReplicaRoutingDataSource.Route.PRIMARY, primary,
+				ReplicaRoutingDataSource.Route.REPLICA, replica));
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	// Delimita o read-your-writes: cada requisição começa lendo da réplica
+	@Bean
+	public FilterRegistrationBean<Filter> readYourWritesFilter() {
+		Filter filter = (request, response, chain) -> {
+			ReplicaRoutingDataSource.resetReadYourWrites();
+			try {
+				chain.doFilter(request, response);
+			}
+			finally {
+				ReplicaRoutingDataSource.resetReadYourWrites();
+			}
+		};
+		FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+}
@@ -0,0 +1,93 @@
+package com.devsuperior.dscatalog.config;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.devsuperior.dscatalog.entities.CatalogVersion;
+
+// Atraso da réplica medido pela versão do catálogo: toda escrita incrementa tb_catalog_version, então a réplica
+// está em dia quando a sua versão alcança a do primário. Atrasada por mais de maxLag, ou inacessível, ela sai
+// da rota até a próxima verificação que a encontrar em dia. Começa fora da rota, até a primeira verificação.
+// A versão lida na réplica fica guardada: as leituras carimbadas com uma versão do catálogo só vão para a réplica
+// quando a última verificação já a encontrou nessa versão (a versão só cresce, então o valor guardado é seguro)
+public class ReplicaLagMonitor {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+	private static final String VERSION_SQL = "SELECT version FROM tb_catalog_version WHERE id = ?";
+
+	private final JdbcTemplate primary;
+	private final JdbcTemplate replica;
+	private final Duration maxLag;
+
+	private volatile boolean usable;
+	private volatile long replicaVersion = -1;
+	private volatile Instant behindSince;
+
+	public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag) {
+		this.primary = new JdbcTemplate(primary);
+		this.replica = new JdbcTemplate(replica);
+		this.maxLag = maxLag;
+	}
+
+	@Scheduled(fixedDelayString = "${dscatalog.datasource.replica.lag-check-interval}")
+	public void check() {
+		Instant now = Instant.now();
+		long replicaVersion;
+		long primaryVersion;
+		try {
+			replicaVersion = version(replica);
+			primaryVersion = version(primary);
+			this.replicaVersion = replicaVersion;
+		}
+		catch (DataAccessException e) {
+			if (usable) {
+				logger.warn("Réplica inacessível, leituras voltam para o primário: {}", e.getMostSpecificCause().getMessage());
+			}
+			usable = false;
+			return;
+		}
+		if (replicaVersion >= primaryVersion) {
+			behindSince = null;
+		}
+		else if (behindSince == null) {
+			behindSince = now;
+		}
+		boolean wasUsable = usable;
+		usable = lag(now).compareTo(maxLag) <= 0;
+		if (wasUsable && !usable) {
+			logger.warn("Réplica atrasada há mais de {} (versão {} contra {} no primário), leituras voltam para o primário",
+					maxLag, replicaVersion, primaryVersion);
+		}
+	}
+
+	public boolean isReplicaUsable() {
+		return usable;
+	}
+
+	public boolean isReplicaAt(long catalogVersion) {
+		return usable && replicaVersion >= catalogVersion;
+	}
+
+	public Duration lag() {
+		return lag(Instant.now());
+	}
+
+	private Duration lag(Instant now) {
+		Instant since = behindSince;
+		return since == null ? Duration.ZERO : Duration.between(since, now);
+	}
+
+	private static long version(JdbcTemplate jdbc) {
+		Long version = jdbc.queryForObject(VERSION_SQL, Long.class, CatalogVersion.SINGLETON_ID);
+		return version == null ? 0L : version;
+	}
+}
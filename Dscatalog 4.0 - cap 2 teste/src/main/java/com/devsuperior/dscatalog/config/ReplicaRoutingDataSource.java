@@ -0,0 +1,54 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Escolhe o pool a cada conexão física: transações readOnly vão para a réplica, o resto para o primário.
+// Precisa ficar atrás de um LazyConnectionDataSourceProxy: o JpaTransactionManager abre a conexão antes de
+// marcar a transação como readOnly, e o proxy adia a escolha até o primeiro comando SQL
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	public enum Route {
+		PRIMARY, REPLICA
+	}
+
+	// Read-your-writes: depois de uma transação de escrita, o resto da requisição lê do primário
+	private static final ThreadLocal<Boolean> wrote = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	// Versão do catálogo já entregue nesta requisição (ETag, X-Catalog-Version, snapshot fixado): leituras
+	// seguintes só vão para a réplica se ela estiver pelo menos nessa versão, senão um W/"n" sairia com a
+	// página da n-1 e o cliente receberia 304 para ela até a próxima escrita
+	private static final ThreadLocal<Long> minVersion = ThreadLocal.withInitial(() -> 0L);
+
+	private final ReplicaLagMonitor lagMonitor;
+
+	public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+		this.lagMonitor = lagMonitor;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				wrote.set(Boolean.TRUE);
+			}
+			return Route.PRIMARY;
+		}
+		if (wrote.get() || !lagMonitor.isReplicaAt(minVersion.get())) {
+			return Route.PRIMARY;
+		}
+		return Route.REPLICA;
+	}
+
+	public static void readAtLeast(long catalogVersion) {
+		if (catalogVersion > minVersion.get()) {
+			minVersion.set(catalogVersion);
+		}
+	}
+
+	// Chamado pelo filtro no início e no fim de cada requisição
+	public static void resetReadYourWrites() {
+		wrote.remove();
+		minVersion.remove();
+	}
+}
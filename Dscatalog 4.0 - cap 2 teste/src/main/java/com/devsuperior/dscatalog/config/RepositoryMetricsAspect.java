@@ -0,0 +1,81 @@
+package com.devsuperior.dscatalog.config;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Tempo (dscatalog.repository) e linhas devolvidas (dscatalog.rows) por método de repositório. Métodos que
+// devolvem Publisher (repositórios R2DBC) ficam de fora, como no bulkhead: a consulta só roda na assinatura e o
+// tempo medido aqui seria só o de montar o Flux/Mono
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+	private final MeterRegistry registry;
+
+	public RepositoryMetricsAspect(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Around("(execution(* com.devsuperior.dscatalog.repositories..*.*(..)) "
+			+ "|| execution(* org.springframework.data.repository.Repository+.*(..))) "
+			+ "&& !execution(org.reactivestreams.Publisher+ *(..))")
+	public Object measure(ProceedingJoinPoint pjp) throws Throwable {
+		String repository = repositoryName(pjp);
+		String method = pjp.getSignature().getName();
+		Timer.Sample sample = Timer.start(registry);
+		String exception = "none";
+		try {
+			Object result = pjp.proceed();
+			Integer rows = rowCount(result);
+			if (rows != null) {
+				DistributionSummary.builder("dscatalog.rows")
+						.tags("repository", repository, "method", method)
+						.register(registry)
+						.record(rows);
+			}
+			return result;
+		}
+		catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		}
+		finally {
+			sample.stop(Timer.builder("dscatalog.repository")
+					.tags("repository", repository, "method", method, "exception", exception)
+					.register(registry));
+		}
+	}
+
+	private static String repositoryName(ProceedingJoinPoint pjp) {
+		for (Class<?> type : pjp.getThis().getClass().getInterfaces()) {
+			if (type.getPackageName().startsWith("com.devsuperior.dscatalog")) {
+				return type.getSimpleName();
+			}
+		}
+		return pjp.getSignature().getDeclaringType().getSimpleName();
+	}
+
+	// Streams não são contados: consumi-los aqui quebraria o cursor
+	private static Integer rowCount(Object result) {
+		if (result instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		if (result instanceof Slice<?> slice) {
+			return slice.getNumberOfElements();
+		}
+		if (result instanceof Optional<?> optional) {
+			return optional.isPresent() ? 1 : 0;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,26 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Tarefas periódicas (dispatcher do outbox). Desligável para testes que contam as instruções SQL executadas
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "dscatalog.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+
+	// Com spring.main.lazy-initialization, um bean só ganha os seus @Scheduled quando é criado; os que têm
+	// tarefas periódicas continuam sendo criados na inicialização
+	@Bean
+	public static LazyInitializationExcludeFilter scheduledBeansLazyInitializationExcludeFilter() {
+		return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+				(MethodIntrospector.MetadataLookup<Scheduled>) method -> AnnotatedElementUtils
+						.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+	}
+}
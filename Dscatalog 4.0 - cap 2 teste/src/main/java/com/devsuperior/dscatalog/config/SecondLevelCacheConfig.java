@@ -0,0 +1,56 @@
+package com.devsuperior.dscatalog.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// Regiões do cache de segundo nível do Hibernate, criadas aqui com limites explícitos em vez do
+// default ilimitado do provider. O CacheManager é exclusivo do contexto (URI própria): contextos de
+// teste simultâneos não disputam as mesmas regiões.
+@Configuration
+public class SecondLevelCacheConfig {
+
+	public static final String CATEGORY = Category.class.getName();
+	public static final String PRODUCT_CATEGORIES = Product.class.getName() + ".categories";
+	public static final String CATEGORY_QUERIES = "category-queries";
+
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager() {
+		CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+				.getCacheManager(URI.create("dscatalog:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+		manager.createCache(CATEGORY, bounded(10_000, TimeUnit.HOURS.toNanos(1)));
+		manager.createCache(PRODUCT_CATEGORIES, bounded(100_000, TimeUnit.HOURS.toNanos(1)));
+		manager.createCache(CATEGORY_QUERIES, bounded(1_000, TimeUnit.MINUTES.toNanos(10)));
+		manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(1_000, TimeUnit.MINUTES.toNanos(10)));
+		// Os timestamps invalidam o cache de consultas: não podem expirar nem ser despejados
+		manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+		return manager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+
+	private static CaffeineConfiguration<Object, Object> bounded(long maximumSize, long expireAfterWriteNanos) {
+		CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+		config.setMaximumSize(OptionalLong.of(maximumSize));
+		config.setExpireAfterWrite(OptionalLong.of(expireAfterWriteNanos));
+		return config;
+	}
+}
@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+// dscatalog.threads.mode=virtual: cada requisição (e o @Transactional que ela chama) roda em uma virtual thread.
+// O projeto compila para Java 17, então o executor é obtido por reflexão e o modo exige runtime Java 21+.
+@Configuration
+@ConditionalOnProperty(name = "dscatalog.threads.mode", havingValue = "virtual")
+public class VirtualThreadsConfig {
+
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService virtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (NoSuchMethodException e) {
+			throw new IllegalStateException("dscatalog.threads.mode=virtual requer Java 21 ou superior (runtime atual: "
+					+ Runtime.version() + ")");
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler(ExecutorService virtualThreadExecutor) {
+		return handler -> handler.setExecutor(virtualThreadExecutor);
+	}
+
+	// Requisições assíncronas do MVC (StreamingResponseBody da exportação)
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+		return new TaskExecutorAdapter(virtualThreadExecutor);
+	}
+
+	// Sem o teto de threads do Tomcat, o bulkhead limita o trabalho JDBC simultâneo. Padrão (0): um a menos que os
+	// carriers, o que em geral fica abaixo do pool do Hikari; acima disso só com um driver que não bloqueia em synchronized
+	@Bean
+	public DatabaseBulkheadAspect databaseBulkheadAspect(
+			@Value("${dscatalog.threads.database-permits:0}") int permits,
+			@Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeout) {
+		return new DatabaseBulkheadAspect(permits > 0 ? permits : defaultDatabasePermits(), connectionTimeout);
+	}
+
+	// Pelo menos uma: com um único carrier não há como deixar um livre
+	static int defaultDatabasePermits() {
+		return Math.max(1, carrierThreads() - 1);
+	}
+
+	// Mesma regra do scheduler de virtual threads do JDK
+	static int carrierThreads() {
+		return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+	}
+}
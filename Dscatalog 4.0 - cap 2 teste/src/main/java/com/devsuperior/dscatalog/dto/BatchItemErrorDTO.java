@@ -0,0 +1,26 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class BatchItemErrorDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Integer index;
+	private String message;
+
+	public BatchItemErrorDTO() {
+	}
+
+	public BatchItemErrorDTO(Integer index, String message) {
+		this.index = index;
+		this.message = message;
+	}
+
+	public Integer getIndex() {
+		return index;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+}
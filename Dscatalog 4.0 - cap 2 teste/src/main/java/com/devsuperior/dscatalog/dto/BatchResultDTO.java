@@ -0,0 +1,45 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Integer received = 0;
+	private Integer inserted = 0;
+
+	private List<BatchItemErrorDTO> errors = new ArrayList<>();
+
+	public BatchResultDTO() {
+	}
+
+	public Integer getReceived() {
+		return received;
+	}
+
+	public Integer getInserted() {
+		return inserted;
+	}
+
+	public Integer getFailed() {
+		return errors.size();
+	}
+
+	public List<BatchItemErrorDTO> getErrors() {
+		return errors;
+	}
+
+	public void addReceived(int count) {
+		received += count;
+	}
+
+	public void addInserted(int count) {
+		inserted += count;
+	}
+
+	public void addError(int index, String message) {
+		errors.add(new BatchItemErrorDTO(index, message));
+	}
+}
@@ -0,0 +1,26 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class BulkResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Integer requested;
+	private Integer affected;
+
+	public BulkResultDTO() {
+	}
+
+	public BulkResultDTO(Integer requested, Integer affected) {
+		this.requested = requested;
+		this.affected = affected;
+	}
+
+	public Integer getRequested() {
+		return requested;
+	}
+
+	public Integer getAffected() {
+		return affected;
+	}
+}
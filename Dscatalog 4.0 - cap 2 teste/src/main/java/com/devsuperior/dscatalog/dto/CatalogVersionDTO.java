@@ -0,0 +1,20 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class CatalogVersionDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long version;
+
+	public CatalogVersionDTO() {
+	}
+
+	public CatalogVersionDTO(Long version) {
+		this.version = version;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
@@ -3,12 +3,17 @@ package com.devsuperior.dscatalog.dto;
 import java.io.Serializable;
 
 import com.devsuperior.dscatalog.entities.Category;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 public class CategoryDTO implements Serializable {
 	private static final long serialVersionUID = 1L;
 
 	private Long id;
 	private String name;
+
+	// Vai no cabeçalho ETag, não no corpo
+	@JsonIgnore
+	private Long version;
 	
 	public CategoryDTO() {
 	}
@@ -21,6 +26,7 @@ public class CategoryDTO implements Serializable {
 	public CategoryDTO(Category entity) {
 		this.id = entity.getId();
 		this.name = entity.getName();
+		this.version = entity.getVersion();
 	}
 
 	public Long getId() {
@@ -38,4 +44,12 @@ public class CategoryDTO implements Serializable {
 	public void setName(String name) {
 		this.name = name;
 	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
 }
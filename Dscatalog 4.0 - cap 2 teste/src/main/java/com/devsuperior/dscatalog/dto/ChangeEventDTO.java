@@ -0,0 +1,55 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.devsuperior.dscatalog.entities.ChangeEvent;
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.ChangeEvent.Operation;
+
+public class ChangeEventDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private Long position;
+	private EntityType entityType;
+	private Long entityId;
+	private Operation operation;
+	private Instant occurredAt;
+
+	public ChangeEventDTO() {
+	}
+
+	public ChangeEventDTO(ChangeEvent entity) {
+		id = entity.getId();
+		position = entity.getPosition();
+		entityType = entity.getEntityType();
+		entityId = entity.getEntityId();
+		operation = entity.getOperation();
+		occurredAt = entity.getOccurredAt();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getPosition() {
+		return position;
+	}
+
+	public EntityType getEntityType() {
+		return entityType;
+	}
+
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	public Operation getOperation() {
+		return operation;
+	}
+
+	public Instant getOccurredAt() {
+		return occurredAt;
+	}
+}
@@ -0,0 +1,35 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+// next é sempre preenchido: sem novidades ele repete o since, e o consumidor continua a partir dele
+public class ChangeFeedDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<ChangeEventDTO> changes = new ArrayList<>();
+	private Long next;
+	private boolean hasMore;
+
+	public ChangeFeedDTO() {
+	}
+
+	public ChangeFeedDTO(List<ChangeEventDTO> changes, Long next, boolean hasMore) {
+		this.changes = changes;
+		this.next = next;
+		this.hasMore = hasMore;
+	}
+
+	public List<ChangeEventDTO> getChanges() {
+		return changes;
+	}
+
+	public Long getNext() {
+		return next;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+}
@@ -0,0 +1,38 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CursorSliceDTO<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<T> content = new ArrayList<>();
+	private Integer size;
+	private String next;
+
+	public CursorSliceDTO() {
+	}
+
+	public CursorSliceDTO(List<T> content, Integer size, String next) {
+		this.content = content;
+		this.size = size;
+		this.next = next;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public boolean isHasNext() {
+		return next != null;
+	}
+}
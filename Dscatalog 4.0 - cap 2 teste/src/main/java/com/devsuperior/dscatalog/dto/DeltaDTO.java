@@ -0,0 +1,42 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+// Um lote da sincronização incremental: itens alterados (ou criados) e ids excluídos, na ordem (updatedAt, id).
+// next é sempre preenchido; com hasMore false o cliente guarda o token e volta mais tarde
+public class DeltaDTO<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<T> changed = new ArrayList<>();
+	private List<Long> deleted = new ArrayList<>();
+	private String next;
+	private boolean hasMore;
+
+	public DeltaDTO() {
+	}
+
+	public DeltaDTO(List<T> changed, List<Long> deleted, String next, boolean hasMore) {
+		this.changed = changed;
+		this.deleted = deleted;
+		this.next = next;
+		this.hasMore = hasMore;
+	}
+
+	public List<T> getChanged() {
+		return changed;
+	}
+
+	public List<Long> getDeleted() {
+		return deleted;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+}
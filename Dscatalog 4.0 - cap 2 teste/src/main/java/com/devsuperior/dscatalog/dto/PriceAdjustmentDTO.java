@@ -0,0 +1,35 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+// Reajuste percentual (ex.: 10.0 = +10%, -5.0 = -5%); sem categoryId vale para todo o catálogo
+public class PriceAdjustmentDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long categoryId;
+	private Double percent;
+
+	public PriceAdjustmentDTO() {
+	}
+
+	public PriceAdjustmentDTO(Long categoryId, Double percent) {
+		this.categoryId = categoryId;
+		this.percent = percent;
+	}
+
+	public Long getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(Long categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public Double getPercent() {
+		return percent;
+	}
+
+	public void setPercent(Double percent) {
+		this.percent = percent;
+	}
+}
@@ -8,6 +8,7 @@ import java.util.Set;
 
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 public class ProductDTO implements Serializable {
 	private static final long serialVersionUID = 1L;
@@ -18,6 +19,10 @@ public class ProductDTO implements Serializable {
 	private Double price;
 	private String imgUrl;
 	private Instant date;
+
+	// Vai no cabeçalho ETag, não no corpo
+	@JsonIgnore
+	private Long version;
 	
 	private List<CategoryDTO> categories = new ArrayList<>();
 	
@@ -33,6 +38,10 @@ public class ProductDTO implements Serializable {
 		this.date = date;
 	}
 	
+	public ProductDTO(Long id, String name, Double price, String imgUrl, Instant date) {
+		this(id, name, null, price, imgUrl, date);
+	}
+
 	public ProductDTO(Product entity) {
 		this.id = entity.getId();
 		this.name = entity.getName();
@@ -40,6 +49,7 @@ public class ProductDTO implements Serializable {
 		this.price = entity.getPrice();
 		this.imgUrl = entity.getImgUrl();
 		this.date = entity.getDate();
+		this.version = entity.getVersion();
 	}
 	
 	public ProductDTO(Product entity, Set<Category> categories) {
@@ -95,6 +105,14 @@ public class ProductDTO implements Serializable {
 		this.date = date;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public List<CategoryDTO> getCategories() {
 		return categories;
 	}
@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ProductFacetsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<CategoryFacetDTO> categories;
+	private List<PriceRangeFacetDTO> priceRanges;
+
+	public ProductFacetsDTO() {
+	}
+
+	public ProductFacetsDTO(List<CategoryFacetDTO> categories, List<PriceRangeFacetDTO> priceRanges) {
+		this.categories = List.copyOf(categories);
+		this.priceRanges = List.copyOf(priceRanges);
+	}
+
+	public List<CategoryFacetDTO> getCategories() {
+		return categories;
+	}
+
+	public List<PriceRangeFacetDTO> getPriceRanges() {
+		return priceRanges;
+	}
+}
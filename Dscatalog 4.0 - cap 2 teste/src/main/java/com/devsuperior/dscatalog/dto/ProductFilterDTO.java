@@ -0,0 +1,52 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+// Filtros opcionais da listagem de produtos; campos nulos não entram na consulta
+public class ProductFilterDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long categoryId;
+	private Double minPrice;
+	private Double maxPrice;
+	private String name;
+
+	public ProductFilterDTO() {
+	}
+
+	public ProductFilterDTO(Long categoryId, Double minPrice, Double maxPrice, String name) {
+		this.categoryId = categoryId;
+		this.minPrice = minPrice;
+		this.maxPrice = maxPrice;
+		this.name = name;
+	}
+
+	public Long getCategoryId() {
+		return categoryId;
+	}
+
+	public Double getMinPrice() {
+		return minPrice;
+	}
+
+	public Double getMaxPrice() {
+		return maxPrice;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	// Facetas de uma dimensão ignoram o filtro da própria dimensão, senão só sobraria a opção já escolhida
+	public ProductFilterDTO withoutCategory() {
+		return new ProductFilterDTO(null, minPrice, maxPrice, name);
+	}
+
+	public ProductFilterDTO withoutPrice() {
+		return new ProductFilterDTO(categoryId, null, null, name);
+	}
+
+	public boolean isEmpty() {
+		return categoryId == null && minPrice == null && maxPrice == null && (name == null || name.isBlank());
+	}
+}
@@ -0,0 +1,37 @@
+package com.devsuperior.dscatalog.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Linha única com o contador de modificações do catálogo; toda escrita em produtos ou categorias
+// incrementa esse contador na mesma transação
+@Entity
+@Table(name = "tb_catalog_version")
+public class CatalogVersion {
+
+	public static final Long SINGLETON_ID = 1L;
+
+	@Id
+	private Long id;
+
+	@Column(nullable = false)
+	private Long version;
+
+	public CatalogVersion() {
+	}
+
+	public CatalogVersion(Long id, Long version) {
+		this.id = id;
+		this.version = version;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
@@ -1,19 +1,32 @@
 package com.devsuperior.dscatalog.entities;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
+// Cache de segundo nível: as poucas categorias são lidas por todo produto e quase nunca mudam
 @Entity
-@Table(name = "tb_category")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "tb_category", indexes = {
+		@Index(name = "idx_category_name_id", columnList = "name, id"),
+		@Index(name = "idx_category_updated_at_id", columnList = "updatedAt, id") })
 public class Category {
 
 	@Id
@@ -24,9 +37,16 @@ public class Category {
 	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
 	private Instant createdAt;
 
-	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	// Preenchido também na inclusão, para a sincronização incremental enxergar categorias novas
+	@ColumnDefault("LOCALTIMESTAMP")
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE", nullable = false)
 	private Instant updatedAt;
 
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
+
 	public Category() {
 	}
 
@@ -51,6 +71,10 @@ public class Category {
 		this.name = name;
 	}
 	
+	public Long getVersion() {
+		return version;
+	}
+
 	public Instant getCreatedAt() {
 		return createdAt;
 	}
@@ -61,12 +85,13 @@ public class Category {
 
 	@PrePersist
 	public void prePersist() {
-		createdAt = Instant.now();
+		createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+		updatedAt = createdAt;
 	}
 	
 	@PreUpdate
 	public void preUpdate() {
-		updatedAt = Instant.now();
+		updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
 	}
 
 	@Override
@@ -0,0 +1,95 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Outbox: gravado na mesma transação da escrita em produtos ou categorias. O id segue a ordem de inserção;
+// a posição no feed só é atribuída pelo dispatcher, em ordem de commit, quando o evento é despachado
+@Entity
+@Table(name = "tb_change_event", indexes = {
+		@Index(name = "idx_change_event_pending", columnList = "dispatchedAt, id"),
+		@Index(name = "uk_change_event_position", columnList = "position", unique = true) })
+public class ChangeEvent {
+
+	public enum EntityType {
+		PRODUCT, CATEGORY
+	}
+
+	public enum Operation {
+		CREATED, UPDATED, DELETED
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private EntityType entityType;
+
+	@Column(nullable = false)
+	private Long entityId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private Operation operation;
+
+	@Column(nullable = false)
+	private Instant occurredAt;
+
+	private Long position;
+
+	private Instant dispatchedAt;
+
+	public ChangeEvent() {
+	}
+
+	public ChangeEvent(EntityType entityType, Long entityId, Operation operation) {
+		this.entityType = entityType;
+		this.entityId = entityId;
+		this.operation = operation;
+		this.occurredAt = Instant.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public EntityType getEntityType() {
+		return entityType;
+	}
+
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	public Operation getOperation() {
+		return operation;
+	}
+
+	public Instant getOccurredAt() {
+		return occurredAt;
+	}
+
+	public Long getPosition() {
+		return position;
+	}
+
+	public Instant getDispatchedAt() {
+		return dispatchedAt;
+	}
+
+	public void markDispatched(Long position, Instant dispatchedAt) {
+		this.position = position;
+		this.dispatchedAt = dispatchedAt;
+	}
+}
@@ -0,0 +1,37 @@
+package com.devsuperior.dscatalog.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Linha única com a última posição atribuída no feed GET /changes. Fica fora de tb_change_event para
+// sobreviver ao expurgo: a numeração nunca recomeça, mesmo quando todos os eventos já foram apagados
+@Entity
+@Table(name = "tb_change_feed_position")
+public class ChangeFeedPosition {
+
+	public static final Long SINGLETON_ID = 1L;
+
+	@Id
+	private Long id;
+
+	@Column(nullable = false)
+	private Long position;
+
+	public ChangeFeedPosition() {
+	}
+
+	public ChangeFeedPosition(Long id, Long position) {
+		this.id = id;
+		this.position = position;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getPosition() {
+		return position;
+	}
+}
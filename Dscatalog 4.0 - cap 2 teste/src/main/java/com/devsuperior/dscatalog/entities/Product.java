@@ -1,22 +1,37 @@
 package com.devsuperior.dscatalog.entities;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
+// @DynamicUpdate: o UPDATE leva só as colunas alteradas (um PATCH de preço não reescreve description)
 @Entity
-@Table(name = "tb_product")
+@DynamicUpdate
+@Table(name = "tb_product", indexes = {
+		@Index(name = "idx_product_name_id", columnList = "name, id"),
+		@Index(name = "idx_product_price", columnList = "price"),
+		@Index(name = "idx_product_updated_at_id", columnList = "updatedAt, id") })
 public class Product {
 
 	@Id
@@ -31,11 +46,30 @@ public class Product {
 	
 	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
 	private Instant date;
+
+	// Preenchidos pelos callbacks do JPA; o default cobre as linhas do import.sql. O insert em lote via JDBC
+	// e os UPDATEs em massa gravam created_at e updated_at no próprio SQL
+	@ColumnDefault("LOCALTIMESTAMP")
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE", nullable = false, updatable = false)
+	private Instant createdAt;
+
+	@ColumnDefault("LOCALTIMESTAMP")
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE", nullable = false)
+	private Instant updatedAt;
 	
+	// Controle otimista: todo UPDATE confere e incrementa a versão (linhas do import.sql começam em 0)
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
+
+	// Guarda só os ids das categorias de cada produto; as categorias vêm da região de Category
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	@ManyToMany
 	@JoinTable(name = "tb_product_category",
 		joinColumns = @JoinColumn(name = "product_id"),
-		inverseJoinColumns = @JoinColumn(name = "category_id"))	
+		inverseJoinColumns = @JoinColumn(name = "category_id"),
+		indexes = @Index(name = "idx_product_category_product", columnList = "product_id, category_id"))
 	Set<Category> categories = new HashSet<>();
 	
 	public Product() {
@@ -98,10 +132,35 @@ public class Product {
 		this.date = date;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
 	public Set<Category> getCategories() {
 		return categories;
 	}
 
+	// Microssegundos: o valor em memória é o mesmo que o banco guarda, e o cursor da sincronização bate com ele
+	@PrePersist
+	public void prePersist() {
+		createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+		updatedAt = createdAt;
+	}
+
+	// Também roda quando só as categorias mudam: a alteração da coleção incrementa a versão do produto
+	@PreUpdate
+	public void preUpdate() {
+		updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
@@ -0,0 +1,63 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Marca de exclusão para a sincronização incremental: a linha some de tb_product/tb_category, o tombstone
+// fica até o fim da retenção e entra no delta na posição (deletedAt, entityId)
+@Entity
+@Table(name = "tb_tombstone", indexes = @Index(name = "idx_tombstone_type_deleted_at_id",
+		columnList = "entityType, deletedAt, entityId"))
+public class Tombstone {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private EntityType entityType;
+
+	@Column(nullable = false)
+	private Long entityId;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE", nullable = false)
+	private Instant deletedAt;
+
+	public Tombstone() {
+	}
+
+	public Tombstone(EntityType entityType, Long entityId) {
+		this.entityType = entityType;
+		this.entityId = entityId;
+		this.deletedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public EntityType getEntityType() {
+		return entityType;
+	}
+
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	public Instant getDeletedAt() {
+		return deletedAt;
+	}
+}
@@ -0,0 +1,4 @@
+package com.devsuperior.dscatalog.projections;
+
+public record ProductCategoryProjection(Long productId, Long id, String name) {
+}
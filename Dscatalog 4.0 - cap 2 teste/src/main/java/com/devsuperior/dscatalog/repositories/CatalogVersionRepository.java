@@ -0,0 +1,23 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.entities.CatalogVersion;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+	// JPQL e não SQL nativo: o Hibernate só invalida o que depende de tb_catalog_version, e não o
+	// cache de segundo nível inteiro. O UPDATE trava a linha até o commit, então os incrementos não se perdem
+	@Modifying
+	@Query("UPDATE CatalogVersion obj SET obj.version = obj.version + 1 WHERE obj.id = :id")
+	int increment(Long id);
+
+	@Query("SELECT obj.version FROM CatalogVersion obj WHERE obj.id = :id")
+	Optional<Long> findVersion(Long id);
+}
@@ -1,11 +1,62 @@
 package com.devsuperior.dscatalog.repositories;
 
+import java.time.Instant;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.devsuperior.dscatalog.config.SecondLevelCacheConfig;
 import com.devsuperior.dscatalog.entities.Category;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+	// Listagens no cache de consultas (região category-queries): guardam só os ids, as entidades vêm da
+	// região de Category, e qualquer escrita em tb_category invalida os resultados
+	@Override
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.CATEGORY_QUERIES) })
+	List<Category> findAll(Sort sort);
+
+	@Override
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.CATEGORY_QUERIES) })
+	Page<Category> findAll(Pageable pageable);
+
+	// Paginação por cursor (seek): sem OFFSET e sem count, usa o índice (name, id)
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.CATEGORY_QUERIES) })
+	@Query("SELECT obj FROM Category obj ORDER BY obj.name, obj.id")
+	List<Category> findFirstSeek(Pageable pageable);
+
+	// Sincronização incremental: seek em (updatedAt, id); fora do cache de consultas, o limite until muda a cada chamada
+	@Query("SELECT obj FROM Category obj WHERE obj.updatedAt < :until "
+			+ "AND (obj.updatedAt > :updatedAt OR (obj.updatedAt = :updatedAt AND obj.id > :id)) "
+			+ "ORDER BY obj.updatedAt, obj.id")
+	List<Category> findModifiedAfter(Instant updatedAt, Long id, Instant until, Pageable pageable);
+
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.CATEGORY_QUERIES) })
+	@Query("SELECT obj FROM Category obj WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) "
+			+ "ORDER BY obj.name, obj.id")
+	List<Category> findSeekAfter(String name, Long id, Pageable pageable);
+
+	// Leitura do snapshot de categorias fora do cache de segundo nível: ele é reconstruído justamente quando a
+	// versão do catálogo passa da sua, o que pode ser uma escrita de outra instância que este cache nunca viu
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+	@Query("SELECT obj FROM Category obj ORDER BY obj.id")
+	List<Category> findAllForSnapshot();
 }
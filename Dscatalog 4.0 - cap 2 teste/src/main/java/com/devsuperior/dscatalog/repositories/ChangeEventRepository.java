@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.entities.ChangeEvent;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+	// SKIP LOCKED (lock timeout -2) onde o banco suporta: dispatchers de outras instâncias pulam o lote já travado
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT obj FROM ChangeEvent obj WHERE obj.dispatchedAt IS NULL ORDER BY obj.id")
+	List<ChangeEvent> findPendingForDispatch(Pageable pageable);
+
+	@Query("SELECT MAX(obj.position) FROM ChangeEvent obj")
+	Optional<Long> findMaxPosition();
+
+	@Query("SELECT MIN(obj.position) FROM ChangeEvent obj")
+	Optional<Long> findMinPosition();
+
+	@Query("SELECT obj FROM ChangeEvent obj WHERE obj.position > :since ORDER BY obj.position")
+	List<ChangeEvent> findDispatchedAfter(Long since, Pageable pageable);
+
+	@Modifying
+	@Query("DELETE FROM ChangeEvent obj WHERE obj.dispatchedAt < :before")
+	int deleteDispatchedBefore(Instant before);
+
+	// Eventos das escritas em massa gerados por INSERT ... SELECT, sem trazer os ids para a aplicação.
+	// O hint de query spaces limita a invalidação do cache de segundo nível a tb_change_event
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_change_event"))
+	@Query(nativeQuery = true, value = "INSERT INTO tb_change_event (entity_type, entity_id, operation, occurred_at) "
+			+ "SELECT 'PRODUCT', id, :operation, CURRENT_TIMESTAMP FROM tb_product WHERE id IN :ids")
+	int insertForProducts(Collection<Long> ids, String operation);
+
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_change_event"))
+	@Query(nativeQuery = true, value = "INSERT INTO tb_change_event (entity_type, entity_id, operation, occurred_at) "
+			+ "SELECT 'PRODUCT', product_id, :operation, CURRENT_TIMESTAMP FROM tb_product_category "
+			+ "WHERE category_id = :categoryId")
+	int insertForProductsOfCategory(Long categoryId, String operation);
+
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_change_event"))
+	@Query(nativeQuery = true, value = "INSERT INTO tb_change_event (entity_type, entity_id, operation, occurred_at) "
+			+ "SELECT 'PRODUCT', id, :operation, CURRENT_TIMESTAMP FROM tb_product")
+	int insertForAllProducts(String operation);
+}
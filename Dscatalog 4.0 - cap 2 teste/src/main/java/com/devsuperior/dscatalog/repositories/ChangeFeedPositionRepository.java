@@ -0,0 +1,22 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.entities.ChangeFeedPosition;
+
+@Repository
+public interface ChangeFeedPositionRepository extends JpaRepository<ChangeFeedPosition, Long> {
+
+	// O UPDATE trava a linha até o commit: dispatchers concorrentes reservam faixas de posições em fila
+	@Modifying
+	@Query("UPDATE ChangeFeedPosition obj SET obj.position = obj.position + :count WHERE obj.id = :id")
+	int advance(Long id, long count);
+
+	@Query("SELECT obj.position FROM ChangeFeedPosition obj WHERE obj.id = :id")
+	Optional<Long> findPosition(Long id);
+}
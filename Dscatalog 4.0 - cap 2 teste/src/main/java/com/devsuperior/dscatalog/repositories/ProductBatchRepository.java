@@ -0,0 +1,76 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+// Escrita em lote via JDBC: com GenerationType.IDENTITY o Hibernate desliga o batching de INSERT
+@Repository
+public class ProductBatchRepository {
+
+	private static final String INSERT_PRODUCT =
+			"INSERT INTO tb_product (name, description, price, img_url, date, created_at, updated_at) "
+					+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_PRODUCT_CATEGORY =
+			"INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Deve rodar dentro de uma transação; devolve os ids gerados na mesma ordem dos itens. createdAt explícito,
+	// e não o default da coluna, pelo mesmo motivo do reajuste em massa do ProductRepository
+	public List<Long> insertAll(List<ProductDTO> items, Instant createdAt) {
+		Timestamp stamp = Timestamp.from(createdAt);
+		List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+			// Só o id: com RETURN_GENERATED_KEYS o H2 devolve também as colunas preenchidas por default (created_at...)
+			try (PreparedStatement ps = con.prepareStatement(INSERT_PRODUCT, new String[] { "id" })) {
+				for (ProductDTO dto : items) {
+					ps.setString(1, dto.getName());
+					ps.setString(2, dto.getDescription());
+					if (dto.getPrice() == null) {
+						ps.setNull(3, Types.DOUBLE);
+					}
+					else {
+						ps.setDouble(3, dto.getPrice());
+					}
+					ps.setString(4, dto.getImgUrl());
+					ps.setTimestamp(5, dto.getDate() == null ? null : Timestamp.from(dto.getDate()));
+					ps.setTimestamp(6, stamp);
+					ps.setTimestamp(7, stamp);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				List<Long> generated = new ArrayList<>(items.size());
+				try (ResultSet keys = ps.getGeneratedKeys()) {
+					while (keys.next()) {
+						generated.add(keys.getLong(1));
+					}
+				}
+				return generated;
+			}
+		});
+
+		List<Object[]> links = new ArrayList<>();
+		for (int i = 0; i < items.size(); i++) {
+			for (CategoryDTO cat : items.get(i).getCategories()) {
+				links.add(new Object[] { ids.get(i), cat.getId() });
+			}
+		}
+		if (!links.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, links);
+		}
+		return ids;
+	}
+}
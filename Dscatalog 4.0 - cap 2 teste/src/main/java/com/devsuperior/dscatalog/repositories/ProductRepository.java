@@ -1,11 +1,104 @@
 package com.devsuperior.dscatalog.repositories;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.devsuperior.dscatalog.dto.ProductDTO;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+	// Carrega o produto e suas categorias em um único SELECT (evita o lazy load extra)
+	@Override
+	@EntityGraph(attributePaths = "categories")
+	Optional<Product> findById(Long id);
+
+	// Segunda consulta do findAllPaged: inicializa as categorias de todos os produtos da página de uma vez
+	@Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj IN :products")
+	List<Product> findProductsWithCategories(List<Product> products);
+
+	// Paginação por cursor (seek): sem OFFSET e sem count, usa o índice (name, id)
+	@Query("SELECT obj FROM Product obj ORDER BY obj.name, obj.id")
+	List<Product> findFirstSeek(Pageable pageable);
+
+	@Query("SELECT obj FROM Product obj WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) "
+			+ "ORDER BY obj.name, obj.id")
+	List<Product> findSeekAfter(String name, Long id, Pageable pageable);
+
+	// Sincronização incremental: seek em (updatedAt, id) pelo índice idx_product_updated_at_id
+	@Query("SELECT obj FROM Product obj WHERE obj.updatedAt < :until "
+			+ "AND (obj.updatedAt > :updatedAt OR (obj.updatedAt = :updatedAt AND obj.id > :id)) "
+			+ "ORDER BY obj.updatedAt, obj.id")
+	List<Product> findModifiedAfter(Instant updatedAt, Long id, Instant until, Pageable pageable);
+
+	// Listagem por projeção: seleciona só as colunas da listagem direto no DTO, sem entidades gerenciadas
+	@Query(value = "SELECT new com.devsuperior.dscatalog.dto.ProductDTO(obj.id, obj.name, obj.price, obj.imgUrl, obj.date) "
+			+ "FROM Product obj",
+			countQuery = "SELECT COUNT(obj) FROM Product obj")
+	Page<ProductDTO> searchSummaries(Pageable pageable);
+
+	@Query(value = "SELECT new com.devsuperior.dscatalog.dto.ProductDTO(obj.id, obj.name, obj.description, obj.price, "
+			+ "obj.imgUrl, obj.date) FROM Product obj",
+			countQuery = "SELECT COUNT(obj) FROM Product obj")
+	Page<ProductDTO> searchSummariesWithDescription(Pageable pageable);
+
+	// Hidrata os resultados da busca textual; a ordem por relevância é aplicada no serviço
+	@Query("SELECT new com.devsuperior.dscatalog.dto.ProductDTO(obj.id, obj.name, obj.price, obj.imgUrl, obj.date) "
+			+ "FROM Product obj WHERE obj.id IN :ids")
+	List<ProductDTO> searchSummariesByIds(List<Long> ids);
+
+	@Query("SELECT new com.devsuperior.dscatalog.projections.ProductCategoryProjection(obj.id, cat.id, cat.name) "
+			+ "FROM Product obj JOIN obj.categories cat WHERE obj.id IN :productIds")
+	List<ProductCategoryProjection> searchCategories(List<Long> productIds);
+
+	// Cursor forward-only para exportação: linhas viram DTOs direto, nada fica no contexto de persistência
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT new com.devsuperior.dscatalog.dto.ProductDTO(obj.id, obj.name, obj.description, obj.price, "
+			+ "obj.imgUrl, obj.date) FROM Product obj ORDER BY obj.id")
+	Stream<ProductDTO> streamAllForExport();
+
+	@Query("SELECT obj.id FROM Product obj JOIN obj.categories cat WHERE cat.id = :categoryId")
+	List<Long> findIdsByCategory(Long categoryId);
+
+	// Remoção em massa: um DELETE para as linhas de tb_product_category e outro para os produtos,
+	// sem carregar entidades (o deleteById faz um SELECT por produto antes do DELETE)
+	@Modifying
+	@Query(nativeQuery = true, value = "DELETE FROM tb_product_category WHERE product_id IN :ids")
+	int bulkDeleteCategoryLinks(Collection<Long> ids);
+
+	@Modifying
+	@Query("DELETE FROM Product obj WHERE obj.id IN :ids")
+	int bulkDelete(Collection<Long> ids);
+
+	// Reajuste de preço direto no banco, arredondado em centavos e incrementando a versão
+	// (SQL nativo: o parser de JPQL não aceita ROUND). updatedAt vem da aplicação: LOCALTIMESTAMP é o
+	// início da transação em alguns bancos, anterior à espera pela trava da versão do catálogo
+	@Modifying
+	@Query(nativeQuery = true, value = "UPDATE tb_product SET price = ROUND(price * :factor, 2), version = version + 1, updated_at = :updatedAt "
+			+ "WHERE price IS NOT NULL")
+	int bulkAdjustPrice(double factor, Instant updatedAt);
 
+	@Modifying
+	@Query(nativeQuery = true, value = "UPDATE tb_product SET price = ROUND(price * :factor, 2), version = version + 1, updated_at = :updatedAt "
+			+ "WHERE price IS NOT NULL AND id IN (SELECT product_id FROM tb_product_category WHERE category_id = :categoryId)")
+	int bulkAdjustPriceByCategory(Long categoryId, double factor, Instant updatedAt);
 }
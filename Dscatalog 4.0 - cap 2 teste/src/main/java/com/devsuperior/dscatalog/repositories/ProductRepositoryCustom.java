@@ -0,0 +1,22 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.PriceRangeFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+
+public interface ProductRepositoryCustom {
+
+	Page<ProductDTO> searchSummaries(Specification<Product> spec, Pageable pageable, boolean includeDescription);
+
+	List<CategoryFacetDTO> countByCategory(Specification<Product> spec);
+
+	// bounds crescentes; gera length + 1 faixas, a primeira a partir de zero e a última aberta
+	List<PriceRangeFacetDTO> countByPriceRange(Specification<Product> spec, double[] bounds);
+}
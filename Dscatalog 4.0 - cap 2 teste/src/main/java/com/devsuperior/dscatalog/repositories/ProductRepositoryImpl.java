@@ -0,0 +1,123 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.PriceRangeFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// Listagem filtrada por Specification mantendo a projeção direta no DTO (o findAll(spec) traria entidades)
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Page<ProductDTO> searchSummaries(Specification<Product> spec, Pageable pageable, boolean includeDescription) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+		CriteriaQuery<ProductDTO> query = cb.createQuery(ProductDTO.class);
+		Root<Product> root = query.from(Product.class);
+		if (includeDescription) {
+			query.select(cb.construct(ProductDTO.class, root.get("id"), root.get("name"), root.get("description"),
+					root.get("price"), root.get("imgUrl"), root.get("date")));
+		}
+		else {
+			query.select(cb.construct(ProductDTO.class, root.get("id"), root.get("name"), root.get("price"),
+					root.get("imgUrl"), root.get("date")));
+		}
+		Predicate predicate = spec.toPredicate(root, query, cb);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+		TypedQuery<ProductDTO> typed = entityManager.createQuery(query);
+		if (pageable.isPaged()) {
+			typed.setFirstResult((int) pageable.getOffset());
+			typed.setMaxResults(pageable.getPageSize());
+		}
+		List<ProductDTO> content = typed.getResultList();
+		return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+	}
+
+	private long count(Specification<Product> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Product> root = query.from(Product.class);
+		query.select(cb.count(root));
+		Predicate predicate = spec.toPredicate(root, query, cb);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		return entityManager.createQuery(query).getSingleResult();
+	}
+
+	// Um único GROUP BY sobre tb_product_category; o nome vem do join com tb_category
+	@Override
+	public List<CategoryFacetDTO> countByCategory(Specification<Product> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<CategoryFacetDTO> query = cb.createQuery(CategoryFacetDTO.class);
+		Root<Product> root = query.from(Product.class);
+		Join<Product, Category> category = root.join("categories");
+		query.select(cb.construct(CategoryFacetDTO.class, category.get("id"), category.get("name"), cb.count(root)));
+		Predicate predicate = spec.toPredicate(root, query, cb);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		query.groupBy(category.get("id"), category.get("name"));
+		query.orderBy(cb.asc(category.get("name")), cb.asc(category.get("id")));
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	// Todas as faixas em uma só varredura: um SUM(CASE ...) por faixa
+	@Override
+	public List<PriceRangeFacetDTO> countByPriceRange(Specification<Product> spec, double[] bounds) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Product> root = query.from(Product.class);
+		Expression<Double> price = root.get("price");
+		List<Selection<?>> sums = new ArrayList<>();
+		for (int i = 0; i <= bounds.length; i++) {
+			Predicate inRange = i == 0 ? cb.lessThan(price, bounds[0])
+					: i == bounds.length ? cb.greaterThanOrEqualTo(price, bounds[i - 1])
+					: cb.and(cb.greaterThanOrEqualTo(price, bounds[i - 1]), cb.lessThan(price, bounds[i]));
+			sums.add(cb.sum(cb.<Long>selectCase().when(inRange, 1L).otherwise(0L)));
+		}
+		query.multiselect(sums);
+		Predicate predicate = spec.toPredicate(root, query, cb);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		Tuple row = entityManager.createQuery(query).getSingleResult();
+
+		List<PriceRangeFacetDTO> result = new ArrayList<>();
+		for (int i = 0; i <= bounds.length; i++) {
+			Number count = (Number) row.get(i);
+			result.add(new PriceRangeFacetDTO(i == 0 ? 0.0 : bounds[i - 1], i == bounds.length ? null : bounds[i],
+					count == null ? 0L : count.longValue()));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.repositories;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.entities.Product;
+
+// Predicados da listagem filtrada; cada um devolve null quando o filtro não foi informado
+public final class ProductSpecifications {
+
+	private static final char LIKE_ESCAPE = '\\';
+
+	private ProductSpecifications() {
+	}
+
+	public static Specification<Product> of(ProductFilterDTO filter) {
+		return Specification.where(inCategory(filter.getCategoryId()))
+				.and(priceAtLeast(filter.getMinPrice()))
+				.and(priceAtMost(filter.getMaxPrice()))
+				.and(nameContains(filter.getName()));
+	}
+
+	// O join em tb_product_category só aparece quando há filtro de categoria
+	public static Specification<Product> inCategory(Long categoryId) {
+		return (root, query, cb) -> categoryId == null ? null
+				: cb.equal(root.join("categories").get("id"), categoryId);
+	}
+
+	public static Specification<Product> priceAtLeast(Double minPrice) {
+		return (root, query, cb) -> minPrice == null ? null : cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+	}
+
+	public static Specification<Product> priceAtMost(Double maxPrice) {
+		return (root, query, cb) -> maxPrice == null ? null : cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+	}
+
+	// "Contém", sem distinguir maiúsculas: com o curinga inicial nenhum índice B-tree atende, então sozinho este
+	// filtro percorre a tabela; combinado com categoria ou preço ele só filtra as linhas que o índice já trouxe.
+	// %, _ e \ digitados pelo usuário são escapados e valem como caracteres comuns
+	public static Specification<Product> nameContains(String name) {
+		return (root, query, cb) -> name == null || name.isBlank() ? null
+				: cb.like(cb.upper(root.get("name")), "%" + escapeLike(name.trim().toUpperCase()) + "%", LIKE_ESCAPE);
+	}
+
+	static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
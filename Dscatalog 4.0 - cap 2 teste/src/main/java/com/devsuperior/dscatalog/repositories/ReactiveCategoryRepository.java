@@ -0,0 +1,32 @@
+package com.devsuperior.dscatalog.repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public class ReactiveCategoryRepository {
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	public Flux<CategoryDTO> findAll() {
+		return databaseClient.sql("SELECT id, name FROM tb_category ORDER BY id")
+				.map(row -> new CategoryDTO(row.get("id", Long.class), row.get("name", String.class)))
+				.all();
+	}
+
+	public Mono<CategoryDTO> findById(Long id) {
+		return databaseClient.sql("SELECT id, name FROM tb_category WHERE id = :id")
+				.bind("id", id)
+				.map(row -> new CategoryDTO(row.get("id", Long.class), row.get("name", String.class)))
+				.one();
+	}
+}
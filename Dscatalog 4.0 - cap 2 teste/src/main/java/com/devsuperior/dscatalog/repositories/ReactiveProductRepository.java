@@ -0,0 +1,73 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Leituras do ProductRepository via R2DBC; as linhas viram DTOs direto, sem entidades
+@Repository
+@Profile("reactive")
+public class ReactiveProductRepository {
+
+	private static final String SUMMARY_COLUMNS = "SELECT id, name, price, img_url, date FROM tb_product";
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	// limit nulo devolve o catálogo inteiro; as linhas são emitidas conforme o assinante pede
+	public Flux<ProductDTO> findAll(long offset, Integer limit) {
+		if (limit == null) {
+			return databaseClient.sql(SUMMARY_COLUMNS + " ORDER BY id OFFSET :offset ROWS")
+					.bind("offset", offset)
+					.map(ReactiveProductRepository::toSummary)
+					.all();
+		}
+		return databaseClient.sql(SUMMARY_COLUMNS + " ORDER BY id OFFSET :offset ROWS FETCH FIRST :limit ROWS ONLY")
+				.bind("offset", offset)
+				.bind("limit", limit)
+				.map(ReactiveProductRepository::toSummary)
+				.all();
+	}
+
+	public Mono<ProductDTO> findById(Long id) {
+		return databaseClient.sql("SELECT id, name, description, price, img_url, date FROM tb_product WHERE id = :id")
+				.bind("id", id)
+				.map(row -> new ProductDTO(row.get("id", Long.class), row.get("name", String.class),
+						row.get("description", String.class), row.get("price", Double.class),
+						row.get("img_url", String.class), toInstant(row)))
+				.one();
+	}
+
+	public Flux<ProductCategoryProjection> searchCategories(Collection<Long> productIds) {
+		return databaseClient.sql("SELECT pc.product_id, c.id, c.name FROM tb_product_category pc "
+				+ "JOIN tb_category c ON c.id = pc.category_id WHERE pc.product_id IN (:productIds)")
+				.bind("productIds", productIds)
+				.map(row -> new ProductCategoryProjection(row.get("product_id", Long.class), row.get("id", Long.class),
+						row.get("name", String.class)))
+				.all();
+	}
+
+	private static ProductDTO toSummary(Readable row) {
+		return new ProductDTO(row.get("id", Long.class), row.get("name", String.class), row.get("price", Double.class),
+				row.get("img_url", String.class), toInstant(row));
+	}
+
+	// A coluna é TIMESTAMP WITHOUT TIME ZONE gravada pelo Hibernate no fuso da JVM
+	private static Instant toInstant(Readable row) {
+		LocalDateTime date = row.get("date", LocalDateTime.class);
+		return date == null ? null : date.atZone(ZoneId.systemDefault()).toInstant();
+	}
+}
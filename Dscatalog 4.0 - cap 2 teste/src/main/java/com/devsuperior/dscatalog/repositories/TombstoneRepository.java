@@ -0,0 +1,39 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.Tombstone;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+	// Mesma ordem (deletedAt, entityId) do delta das entidades vivas, limitada pelo instante de corte
+	@Query("SELECT obj FROM Tombstone obj WHERE obj.entityType = :type AND obj.deletedAt < :until "
+			+ "AND (obj.deletedAt > :deletedAt OR (obj.deletedAt = :deletedAt AND obj.entityId > :entityId)) "
+			+ "ORDER BY obj.deletedAt, obj.entityId")
+	List<Tombstone> findDeletedAfter(EntityType type, Instant deletedAt, Long entityId, Instant until, Pageable pageable);
+
+	@Modifying
+	@Query("DELETE FROM Tombstone obj WHERE obj.deletedAt < :before")
+	int deleteOlderThan(Instant before);
+
+	// Só os ids que ainda existem em tb_product; chamar antes do DELETE em massa
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_tombstone"))
+	@Query(nativeQuery = true, value = "INSERT INTO tb_tombstone (entity_type, entity_id, deleted_at) "
+			+ "SELECT 'PRODUCT', id, :deletedAt FROM tb_product WHERE id IN :ids")
+	int insertForProducts(Collection<Long> ids, Instant deletedAt);
+}
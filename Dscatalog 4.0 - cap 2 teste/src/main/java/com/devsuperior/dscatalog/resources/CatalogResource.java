@@ -0,0 +1,36 @@
+package com.devsuperior.dscatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.devsuperior.dscatalog.dto.CatalogVersionDTO;
+import com.devsuperior.dscatalog.services.CatalogVersionService;
+
+@RestController
+@RequestMapping(value = "/catalog")
+public class CatalogResource {
+
+	// Enviado em todas as listagens de produtos e categorias
+	public static final String VERSION_HEADER = "X-Catalog-Version";
+
+	@Autowired
+	private CatalogVersionService service;
+
+	// Uma requisição mínima para saber se algo mudou desde a última leitura, sem baixar nenhuma página
+	@GetMapping(value = "/version")
+	public ResponseEntity<CatalogVersionDTO> version(WebRequest request) {
+		long version = service.current();
+		String etag = EntityTags.weak(version);
+		if (request.checkNotModified(etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+		}
+		return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+				.header(VERSION_HEADER, String.valueOf(version)).body(new CatalogVersionDTO(version));
+	}
+}
@@ -1,10 +1,16 @@
 package com.devsuperior.dscatalog.resources;
 
 import java.net.URI;
+import java.time.Instant;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,12 +18,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.DeltaDTO;
+import com.devsuperior.dscatalog.services.CatalogVersionService;
 import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.CategorySnapshot;
 
 @RestController
 @RequestMapping(value = "/categories")
@@ -25,17 +38,51 @@ public class CategoryResource {
 
 	@Autowired
 	private CategoryService service;
+
+	@Autowired
+	private CatalogVersionService catalogVersion;
 	
 	@GetMapping
 	public ResponseEntity<Page<CategoryDTO>> findAll(Pageable pageable) {
+		String version = String.valueOf(catalogVersion.current());
 		Page<CategoryDTO> list = service.findAllPaged(pageable);		
-		return ResponseEntity.ok().body(list);
+		return ResponseEntity.ok().header(CatalogResource.VERSION_HEADER, version).body(list);
+	}
+
+	@GetMapping(params = "after")
+	public ResponseEntity<CursorSliceDTO<CategoryDTO>> findAllAfter(@RequestParam(value = "after", defaultValue = "") String after,
+			@RequestParam(value = "size", defaultValue = "12") Integer size) {
+		String version = String.valueOf(catalogVersion.current());
+		CursorSliceDTO<CategoryDTO> slice = service.findAllAfter(after, Math.max(1, Math.min(size, 100)));
+		return ResponseEntity.ok().header(CatalogResource.VERSION_HEADER, version).body(slice);
+	}
+
+	// Mesmo contrato do GET /products?modifiedSince=
+	@GetMapping(params = "modifiedSince")
+	public ResponseEntity<DeltaDTO<CategoryDTO>> findModifiedSince(
+			@RequestParam(value = "modifiedSince") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant modifiedSince,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "100") Integer size) {
+		DeltaDTO<CategoryDTO> delta = service.findModifiedSince(modifiedSince, cursor, Math.max(1, Math.min(size, 1000)));
+		return ResponseEntity.ok().body(delta);
+	}
+
+	@GetMapping(value = "/all")
+	public ResponseEntity<List<CategoryDTO>> findAllSnapshot(WebRequest request) {
+		String version = String.valueOf(catalogVersion.current());
+		CategorySnapshot snapshot = service.findAllSnapshot();
+		if (request.checkNotModified(snapshot.getEtag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag())
+					.header(CatalogResource.VERSION_HEADER, version).build();
+		}
+		return ResponseEntity.ok().eTag(snapshot.getEtag()).cacheControl(CacheControl.noCache())
+				.header(CatalogResource.VERSION_HEADER, version).body(snapshot.getCategories());
 	}
 
 	@GetMapping(value = "/{id}")
 	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id) {
 		CategoryDTO dto = service.findById(id);
-		return ResponseEntity.ok().body(dto);
+		return ResponseEntity.ok().eTag(EntityTags.of(dto.getVersion())).body(dto);
 	}
 	
 	@PostMapping
@@ -47,9 +94,10 @@ public class CategoryResource {
 	}
 
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<CategoryDTO> update(@PathVariable Long id, @RequestBody CategoryDTO dto) {
-		dto = service.update(id, dto);
-		return ResponseEntity.ok().body(dto);
+	public ResponseEntity<CategoryDTO> update(@PathVariable Long id, @RequestBody CategoryDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		dto = service.update(id, dto, EntityTags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(EntityTags.of(dto.getVersion())).body(dto);
 	}
 
 	@DeleteMapping(value = "/{id}")
@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.services.ChangeEventService;
+
+@RestController
+@RequestMapping(value = "/changes")
+public class ChangeResource {
+
+	@Autowired
+	private ChangeEventService service;
+
+	// Consumo incremental: o cliente guarda o next da resposta e o usa como since na próxima chamada
+	@GetMapping
+	public ResponseEntity<ChangeFeedDTO> findChanges(@RequestParam(value = "since", defaultValue = "0") Long since,
+			@RequestParam(value = "limit", defaultValue = "100") Integer limit) {
+		ChangeFeedDTO feed = service.findChanges(Math.max(0, since), Math.max(1, Math.min(limit, 1000)));
+		return ResponseEntity.ok().body(feed);
+	}
+}
@@ -0,0 +1,37 @@
+package com.devsuperior.dscatalog.resources;
+
+import com.devsuperior.dscatalog.services.exceptions.PreconditionFailedException;
+
+// ETags a partir das versões: forte para a coluna @Version da entidade ("3"), fraco para as listagens
+final class EntityTags {
+
+	private EntityTags() {
+	}
+
+	static String of(Long version) {
+		return version == null ? null : "\"" + version + "\"";
+	}
+
+	// ETag fraco derivado do contador de modificações do catálogo: W/"42"
+	static String weak(long catalogVersion) {
+		return "W/\"" + catalogVersion + "\"";
+	}
+
+	// Devolve a versão esperada pelo If-Match, ou null quando não há pré-condição (ausente ou "*").
+	// If-Match usa comparação forte: um ETag fraco (W/"3") ou fora do formato nunca corresponde.
+	static Long parseIfMatch(String header) {
+		if (header == null || header.isBlank() || header.trim().equals("*")) {
+			return null;
+		}
+		String tag = header.trim();
+		if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+			try {
+				return Long.valueOf(tag.substring(1, tag.length() - 1));
+			}
+			catch (NumberFormatException e) {
+				// cai no 412 abaixo
+			}
+		}
+		throw new PreconditionFailedException("If-Match não corresponde à versão atual do recurso: " + tag);
+	}
+}
@@ -1,41 +1,169 @@
 package com.devsuperior.dscatalog.resources;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Semaphore;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsuperior.dscatalog.dto.BatchResultDTO;
+import com.devsuperior.dscatalog.dto.BulkResultDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.DeltaDTO;
+import com.devsuperior.dscatalog.dto.PriceAdjustmentDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFacetsDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.services.CatalogVersionService;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.ProductFacetService;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
 
 @RestController
 @RequestMapping(value = "/products")
 public class ProductResource {
 
+	public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
 	@Autowired
 	private ProductService service;
+
+	@Autowired
+	private ProductExportService exportService;
+
+	@Autowired
+	private ProductFacetService facetService;
+
+	@Autowired
+	private CatalogVersionService catalogVersion;
+
+	// Cada exportação segura uma conexão do pool durante todo o download (o cliente lento trava o cursor)
+	private Semaphore exportSlots;
+
+	@Value("${dscatalog.export.max-concurrent}")
+	void setMaxConcurrentExports(int maxConcurrentExports) {
+		exportSlots = new Semaphore(maxConcurrentExports);
+	}
 	
+	// As listagens usam o contador de modificações do catálogo como ETag fraco (e no X-Catalog-Version):
+	// o If-None-Match é respondido com 304 antes de qualquer consulta ou mapeamento de DTO. A versão é lida
+	// antes da consulta, então uma escrita concorrente no máximo faz o cliente baixar a página de novo
 	@GetMapping
-	public ResponseEntity<Page<ProductDTO>> findAll(Pageable pageable) {
-		Page<ProductDTO> list = service.findAllPaged(pageable);		
+	public ResponseEntity<Page<ProductDTO>> findAll(WebRequest request, Pageable pageable,
+			@RequestParam(value = "categoryId", required = false) Long categoryId,
+			@RequestParam(value = "minPrice", required = false) Double minPrice,
+			@RequestParam(value = "maxPrice", required = false) Double maxPrice,
+			@RequestParam(value = "name", required = false) String name,
+			@RequestParam(value = "includeDescription", defaultValue = "false") Boolean includeDescription) {
+		long version = catalogVersion.current();
+		if (request.checkNotModified(EntityTags.weak(version))) {
+			return notModified(version);
+		}
+		ProductFilterDTO filter = new ProductFilterDTO(categoryId, minPrice, maxPrice, name);
+		Page<ProductDTO> list = service.findAllPaged(filter, pageable, includeDescription);
+		return ok(version, list);
+	}
+
+	@GetMapping(params = "after")
+	public ResponseEntity<CursorSliceDTO<ProductDTO>> findAllAfter(WebRequest request, @RequestParam(value = "after", defaultValue = "") String after,
+			@RequestParam(value = "size", defaultValue = "12") Integer size) {
+		long version = catalogVersion.current();
+		if (request.checkNotModified(EntityTags.weak(version))) {
+			return notModified(version);
+		}
+		CursorSliceDTO<ProductDTO> slice = service.findAllAfter(after, Math.max(1, Math.min(size, 100)));
+		return ok(version, slice);
+	}
+
+	// Sincronização incremental: GET /products?modifiedSince=2024-01-01T00:00:00Z e, enquanto hasMore,
+	// o mesmo modifiedSince com cursor=<next>. Sem ETag de catálogo: o cursor já delimita o que o cliente tem
+	@GetMapping(params = "modifiedSince")
+	public ResponseEntity<DeltaDTO<ProductDTO>> findModifiedSince(
+			@RequestParam(value = "modifiedSince") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant modifiedSince,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "100") Integer size) {
+		DeltaDTO<ProductDTO> delta = service.findModifiedSince(modifiedSince, cursor, Math.max(1, Math.min(size, 1000)));
+		return ResponseEntity.ok().body(delta);
+	}
+
+	@GetMapping(value = "/facets")
+	public ResponseEntity<ProductFacetsDTO> facets(WebRequest request,
+			@RequestParam(value = "categoryId", required = false) Long categoryId,
+			@RequestParam(value = "minPrice", required = false) Double minPrice,
+			@RequestParam(value = "maxPrice", required = false) Double maxPrice,
+			@RequestParam(value = "name", required = false) String name) {
+		long version = catalogVersion.current();
+		if (request.checkNotModified(EntityTags.weak(version))) {
+			return notModified(version);
+		}
+		ProductFacetsDTO facets = facetService.findFacets(new ProductFilterDTO(categoryId, minPrice, maxPrice, name));
+		return ok(version, facets);
+	}
+
+	// Sem ETag de catálogo: o índice de busca é local ao processo e só acompanha as escritas desta instância,
+	// então a versão global não descreve o que ele devolve
+	@GetMapping(value = "/search")
+	public ResponseEntity<Page<ProductDTO>> search(@RequestParam(value = "q") String q, Pageable pageable) {
+		Page<ProductDTO> list = service.search(q, pageable);
 		return ResponseEntity.ok().body(list);
 	}
 
+	@GetMapping(value = "/export")
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam(value = "format", defaultValue = ProductExportService.NDJSON) String format) {
+		ProductExportService.validateFormat(format);
+		MediaType type = format.equals(ProductExportService.CSV)
+				? new MediaType("text", "csv", StandardCharsets.UTF_8)
+				: new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+		if (!exportSlots.tryAcquire()) {
+			throw new ServiceUnavailableException("Limite de exportações simultâneas atingido, tente novamente");
+		}
+		StreamingResponseBody body = out -> {
+			try {
+				exportService.exportAll(format, out);
+			}
+			finally {
+				exportSlots.release();
+			}
+		};
+		return ResponseEntity.ok().contentType(type)
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format + "\"")
+				.body(body);
+	}
+
 	@GetMapping(value = "/{id}")
 	public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
 		ProductDTO dto = service.findById(id);
-		return ResponseEntity.ok().body(dto);
+		return ResponseEntity.ok().eTag(EntityTags.of(dto.getVersion())).body(dto);
 	}
 	
 	@PostMapping
@@ -46,10 +174,36 @@ public class ProductResource {
 		return ResponseEntity.created(uri).body(dto);
 	}
 
+	@PostMapping(value = "/batch")
+	public ResponseEntity<BatchResultDTO> insertAll(InputStream body) throws IOException {
+		BatchResultDTO result = service.insertAll(body);
+		return ResponseEntity.ok().body(result);
+	}
+
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @RequestBody ProductDTO dto) {
-		dto = service.update(id, dto);
-		return ResponseEntity.ok().body(dto);
+	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @RequestBody ProductDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		dto = service.update(id, dto, EntityTags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(EntityTags.of(dto.getVersion())).body(dto);
+	}
+
+	@PatchMapping(value = "/price")
+	public ResponseEntity<BulkResultDTO> adjustPrices(@RequestBody PriceAdjustmentDTO dto) {
+		BulkResultDTO result = service.adjustPrices(dto);
+		return ResponseEntity.ok().body(result);
+	}
+
+	@PatchMapping(value = "/{id}", consumes = { MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE })
+	public ResponseEntity<ProductDTO> patch(@PathVariable Long id, @RequestBody JsonNode patch,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		ProductDTO dto = service.patch(id, patch, EntityTags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(EntityTags.of(dto.getVersion())).body(dto);
+	}
+
+	@DeleteMapping
+	public ResponseEntity<BulkResultDTO> deleteAll(@RequestParam(value = "ids") List<Long> ids) {
+		BulkResultDTO result = service.deleteAll(ids);
+		return ResponseEntity.ok().body(result);
 	}
 
 	@DeleteMapping(value = "/{id}")
@@ -57,4 +211,14 @@ public class ProductResource {
 		service.delete(id);
 		return ResponseEntity.noContent().build();
 	}
-} 
+
+	private static <T> ResponseEntity<T> ok(long version, T body) {
+		return ResponseEntity.ok().eTag(EntityTags.weak(version)).cacheControl(CacheControl.noCache())
+				.header(CatalogResource.VERSION_HEADER, String.valueOf(version)).body(body);
+	}
+
+	private static <T> ResponseEntity<T> notModified(long version) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.weak(version))
+				.header(CatalogResource.VERSION_HEADER, String.valueOf(version)).build();
+	}
+}
@@ -0,0 +1,87 @@
+package com.devsuperior.dscatalog.resources;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.resources.exceptions.StandardError;
+import com.devsuperior.dscatalog.services.ReactiveCatalogService;
+import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+
+import reactor.core.publisher.Mono;
+
+// Endpoints funcionais equivalentes ao ProductResource/CategoryResource, servidos pelo ReactiveServerConfig
+@Component
+@Profile("reactive")
+public class ReactiveCatalogHandler {
+
+	@Autowired
+	private ReactiveCatalogService service;
+
+	// Com size: uma página (page, size) como array JSON. Sem size: o catálogo inteiro em streaming,
+	// em NDJSON quando o cliente aceita application/x-ndjson. Nenhum dos dois monta um Page em memória.
+	public Mono<ServerResponse> findAllProducts(ServerRequest request) {
+		long offset = 0;
+		Integer limit = null;
+		try {
+			if (request.queryParam("size").isPresent()) {
+				limit = Math.max(1, Math.min(Integer.parseInt(request.queryParam("size").get()), 100));
+				offset = (long) Math.max(0, Integer.parseInt(request.queryParam("page").orElse("0"))) * limit;
+			}
+		}
+		catch (NumberFormatException e) {
+			return error(request, HttpStatus.BAD_REQUEST, "Invalid parameter", "page e size devem ser números inteiros");
+		}
+		MediaType type = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+				? MediaType.APPLICATION_NDJSON
+				: MediaType.APPLICATION_JSON;
+		return ServerResponse.ok().contentType(type).body(service.findAllProducts(offset, limit), ProductDTO.class);
+	}
+
+	public Mono<ServerResponse> findProductById(ServerRequest request) {
+		return pathId(request)
+				.flatMap(service::findProductById)
+				.flatMap(dto -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(dto))
+				.onErrorResume(ResourceNotFoundException.class,
+						e -> error(request, HttpStatus.NOT_FOUND, "Resource not found", e.getMessage()))
+				.onErrorResume(NumberFormatException.class,
+						e -> error(request, HttpStatus.BAD_REQUEST, "Invalid parameter", "id deve ser numérico"));
+	}
+
+	public Mono<ServerResponse> findAllCategories(ServerRequest request) {
+		return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+				.body(service.findAllCategories(), CategoryDTO.class);
+	}
+
+	public Mono<ServerResponse> findCategoryById(ServerRequest request) {
+		return pathId(request)
+				.flatMap(service::findCategoryById)
+				.flatMap(dto -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(dto))
+				.onErrorResume(ResourceNotFoundException.class,
+						e -> error(request, HttpStatus.NOT_FOUND, "Resource not found", e.getMessage()))
+				.onErrorResume(NumberFormatException.class,
+						e -> error(request, HttpStatus.BAD_REQUEST, "Invalid parameter", "id deve ser numérico"));
+	}
+
+	private Mono<Long> pathId(ServerRequest request) {
+		return Mono.fromCallable(() -> Long.valueOf(request.pathVariable("id")));
+	}
+
+	private Mono<ServerResponse> error(ServerRequest request, HttpStatus status, String error, String message) {
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError(error);
+		err.setMessage(message);
+		err.setPath(request.path());
+		return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(err);
+	}
+}
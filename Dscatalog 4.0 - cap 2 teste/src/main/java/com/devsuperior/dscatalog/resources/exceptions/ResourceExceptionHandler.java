@@ -2,13 +2,19 @@ package com.devsuperior.dscatalog.resources.exceptions;
 
 import java.time.Instant;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.devsuperior.dscatalog.services.exceptions.ChangesExpiredException;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidCursorException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidDataException;
+import com.devsuperior.dscatalog.services.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -38,4 +44,78 @@ public class ResourceExceptionHandler {
 		err.setPath(request.getRequestURI());
 		return ResponseEntity.status(status).body(err);
 	}	
+
+	@ExceptionHandler(InvalidCursorException.class)
+	public ResponseEntity<StandardError> invalidCursor(InvalidCursorException e, HttpServletRequest request) {
+		HttpStatus status = HttpStatus.BAD_REQUEST;
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError("Invalid cursor");
+		err.setMessage(e.getMessage());
+		err.setPath(request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}
+
+	@ExceptionHandler(InvalidDataException.class)
+	public ResponseEntity<StandardError> invalidData(InvalidDataException e, HttpServletRequest request) {
+		HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError("Invalid data");
+		err.setMessage(e.getMessage());
+		err.setPath(request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}
+
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<StandardError> preconditionFailed(PreconditionFailedException e, HttpServletRequest request) {
+		HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError("Precondition failed");
+		err.setMessage(e.getMessage());
+		err.setPath(request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}
+
+	// Escrita concorrente sem If-Match: a versão mudou entre a leitura e o UPDATE
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<StandardError> conflict(OptimisticLockingFailureException e, HttpServletRequest request) {
+		HttpStatus status = HttpStatus.CONFLICT;
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError("Conflict");
+		err.setMessage("Recurso alterado por outra requisição, tente novamente");
+		err.setPath(request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}
+
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<StandardError> serviceUnavailable(ServiceUnavailableException e, HttpServletRequest request) {
+		HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError("Service unavailable");
+		err.setMessage(e.getMessage());
+		err.setPath(request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}
+
+	// O cursor do feed aponta para eventos já expurgados: o consumidor precisa ressincronizar o catálogo inteiro
+	@ExceptionHandler(ChangesExpiredException.class)
+	public ResponseEntity<StandardError> changesExpired(ChangesExpiredException e, HttpServletRequest request) {
+		HttpStatus status = HttpStatus.GONE;
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError("Gone");
+		err.setMessage(e.getMessage());
+		err.setPath(request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}
 }
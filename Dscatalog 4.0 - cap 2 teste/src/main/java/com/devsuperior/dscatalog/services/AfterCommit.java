@@ -0,0 +1,41 @@
+package com.devsuperior.dscatalog.services;
+
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Caches, índice e contadores em memória só enxergam dados confirmados: a ação roda depois do commit da
+// transação corrente (e não roda no rollback). Sem transação ativa a escrita já foi commitada e a ação roda na hora
+final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	static void run(Runnable action) {
+		register(action, Ordered.LOWEST_PRECEDENCE - 1);
+	}
+
+	// Depois de todas as ações registradas com run(), qualquer que seja a ordem de registro: o avanço da versão
+	// do catálogo, para que ninguém receba a versão nova antes de índice e caches refletirem a escrita
+	static void runLast(Runnable action) {
+		register(action, Ordered.LOWEST_PRECEDENCE);
+	}
+
+	private static void register(Runnable action, int order) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public int getOrder() {
+				return order;
+			}
+
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
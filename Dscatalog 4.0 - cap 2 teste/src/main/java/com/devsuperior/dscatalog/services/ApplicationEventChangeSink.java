@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+
+// Sink padrão, em processo: cada lote vira um ChangeBatchEvent para os @EventListener da aplicação
+@Component
+@ConditionalOnProperty(name = "dscatalog.outbox.sink", havingValue = "event", matchIfMissing = true)
+public class ApplicationEventChangeSink implements ChangeEventSink {
+
+	public record ChangeBatchEvent(List<ChangeEventDTO> changes) {
+	}
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	@Override
+	public void publish(List<ChangeEventDTO> batch) {
+		publisher.publishEvent(new ChangeBatchEvent(batch));
+	}
+}
@@ -0,0 +1,60 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.config.ReplicaRoutingDataSource;
+import com.devsuperior.dscatalog.entities.CatalogVersion;
+import com.devsuperior.dscatalog.repositories.CatalogVersionRepository;
+
+// Contador de modificações do catálogo, persistido em tb_catalog_version: sobrevive a restarts e é o mesmo
+// para todas as instâncias. As leituras usam a cópia em memória, que avança no commit das escritas locais
+// e é relida do banco a cada refreshInterval para enxergar as escritas das outras instâncias
+@Service
+public class CatalogVersionService {
+
+	@Autowired
+	private CatalogVersionRepository repository;
+
+	@Value("${dscatalog.catalog-version.refresh-interval:1s}")
+	private Duration refreshInterval;
+
+	private final AtomicLong version = new AtomicLong(-1);
+	private volatile long refreshedAt;
+
+	// Quem pede a versão vai carimbá-la no que ler em seguida: com réplica de leitura, o resto da requisição
+	// só lê da réplica se ela já estiver nessa versão
+	public long current() {
+		long now = System.nanoTime();
+		if (version.get() < 0 || now - refreshedAt > refreshInterval.toNanos()) {
+			refreshedAt = now;
+			// Dentro de uma transação readOnly, essa releitura é que escolhe a conexão: já com a versão local
+			ReplicaRoutingDataSource.readAtLeast(version.get());
+			advance(repository.findVersion(CatalogVersion.SINGLETON_ID).orElse(0L));
+		}
+		long current = version.get();
+		ReplicaRoutingDataSource.readAtLeast(current);
+		return current;
+	}
+
+	// Chamado dentro da transação da escrita, antes de qualquer alteração: o incremento é confirmado (ou
+	// desfeito) junto com ela, e a trava da linha serializa os escritores. Chamado por último, o updatedAt
+	// já estaria carimbado enquanto a escrita espera na fila e poderia commitar depois do settle-time do delta
+	@Transactional
+	public void increment() {
+		if (repository.increment(CatalogVersion.SINGLETON_ID) == 0) {
+			repository.save(new CatalogVersion(CatalogVersion.SINGLETON_ID, 1L));
+		}
+		long committed = repository.findVersion(CatalogVersion.SINGLETON_ID).orElseThrow();
+		AfterCommit.runLast(() -> advance(committed));
+	}
+
+	private void advance(long value) {
+		version.accumulateAndGet(value, Math::max);
+	}
+}
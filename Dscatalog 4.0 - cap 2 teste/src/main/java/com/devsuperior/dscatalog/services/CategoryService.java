@@ -1,33 +1,138 @@
 package com.devsuperior.dscatalog.services;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.devsuperior.dscatalog.config.CacheConfig;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.DeltaDTO;
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.ChangeEvent.Operation;
+import com.devsuperior.dscatalog.entities.Tombstone;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
+@Timed(value = "dscatalog.service")
 public class CategoryService {
 
 	@Autowired
 	private CategoryRepository repository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private CatalogVersionService catalogVersion;
+
+	@Autowired
+	private ChangeEventService changeEvents;
+
+	@Autowired
+	private TombstoneService tombstones;
+
+	// Snapshot guardado com a versão do catálogo em que foi lido; é reconstruído quando a versão persistida passa
+	// dela, o que também cobre as escritas de outras instâncias
+	private final AtomicReference<CategorySnapshot> snapshot = new AtomicReference<>();
 	
 	@Transactional(readOnly = true)
 	public Page<CategoryDTO> findAllPaged(Pageable pageable) {
-		Page<Category> list = repository.findAll(pageable);
-		return list.map(x -> new CategoryDTO(x));
+		if (!servedBySnapshot(pageable.getSort())) {
+			Page<Category> list = repository.findAll(pageable);
+			return list.map(x -> new CategoryDTO(x));
+		}
+
+		List<CategoryDTO> all = findAllSnapshot().getCategories();
+		if (pageable.getSort().isSorted() && pageable.getSort().getOrderFor("id").isDescending()) {
+			all = new ArrayList<>(all);
+			Collections.reverse(all);
+		}
+		if (pageable.isUnpaged()) {
+			return new PageImpl<>(all);
+		}
+		int from = (int) Math.min(pageable.getOffset(), all.size());
+		int to = Math.min(from + pageable.getPageSize(), all.size());
+		return new PageImpl<>(all.subList(from, to), pageable, all.size());
+	}
+
+	// Snapshot em ordem de id, a mesma da consulta sem ORDER BY que o findAll paginado sempre devolveu
+	@Transactional(readOnly = true)
+	public CategorySnapshot findAllSnapshot() {
+		// Lida antes da consulta: o snapshot fica fixado para o servidor inteiro e não pode vir de uma réplica
+		// anterior a essa versão
+		long version = catalogVersion.current();
+		CategorySnapshot current = snapshot.get();
+		if (current != null && current.getVersion() >= version) {
+			return current;
+		}
+		List<CategoryDTO> list = repository.findAllForSnapshot().stream().map(x -> new CategoryDTO(x)).toList();
+		CategorySnapshot fresh = new CategorySnapshot(version, list);
+		snapshot.accumulateAndGet(fresh, (kept, built) -> kept == null || built.getVersion() > kept.getVersion() ? built : kept);
+		return fresh;
+	}
+
+	@Transactional(readOnly = true)
+	public CursorSliceDTO<CategoryDTO> findAllAfter(String after, int size) {
+		PageRequest limit = PageRequest.of(0, size + 1);
+		List<Category> list;
+		if (after == null || after.isEmpty()) {
+			list = repository.findFirstSeek(limit);
+		}
+		else {
+			KeysetCursor cursor = KeysetCursor.decode(after);
+			list = repository.findSeekAfter(cursor.getName(), cursor.getId(), limit);
+		}
+
+		String next = null;
+		if (list.size() > size) {
+			list = list.subList(0, size);
+			Category last = list.get(size - 1);
+			next = new KeysetCursor(last.getName(), last.getId()).encode();
+		}
+		List<CategoryDTO> content = list.stream().map(x -> new CategoryDTO(x)).toList();
+		return new CursorSliceDTO<>(content, size, next);
+	}
+
+	// Mesmo esquema do ProductService.findModifiedSince: seek em (updatedAt, id) intercalado com os tombstones
+	@Transactional(readOnly = true)
+	public DeltaDTO<CategoryDTO> findModifiedSince(Instant modifiedSince, String after, int size) {
+		DeltaCursor from = after == null || after.isEmpty() ? new DeltaCursor(modifiedSince, 0L) : DeltaCursor.decode(after);
+		Instant until = tombstones.deltaUntil(from);
+		PageRequest limit = PageRequest.of(0, size + 1);
+		List<Category> live = repository.findModifiedAfter(from.getModifiedAt(), from.getId(), until, limit);
+		List<Tombstone> deleted = tombstones.findDeletedAfter(EntityType.CATEGORY, from, until, size + 1);
+
+		DeltaPage<Category> page = DeltaPage.merge(from, live, x -> new DeltaCursor(x.getUpdatedAt(), x.getId()), deleted, size);
+		List<CategoryDTO> changed = page.live().stream().map(x -> new CategoryDTO(x)).toList();
+		return new DeltaDTO<>(changed, page.deleted(), page.next().encode(), page.hasMore());
 	}
 
 	@Transactional(readOnly = true)
@@ -39,35 +144,83 @@ public class CategoryService {
 
 	@Transactional
 	public CategoryDTO insert(CategoryDTO dto) {
+		catalogVersion.increment();
 		Category entity = new Category();
 		entity.setName(dto.getName());
 		entity = repository.save(entity);
+		changeEvents.record(EntityType.CATEGORY, entity.getId(), Operation.CREATED);
 		return new CategoryDTO(entity);
 	}
 
 	@Transactional
 	public CategoryDTO update(Long id, CategoryDTO dto) {
+		return update(id, dto, null);
+	}
+
+	// Mesmo esquema do ProductService.update: trava da versão do catálogo primeiro, versão da categoria
+	// conferida ao carregar e no UPDATE do flush
+	@Transactional
+	public CategoryDTO update(Long id, CategoryDTO dto, Long expectedVersion) {
 		try {
+			catalogVersion.increment();
 			Category entity = repository.getReferenceById(id);
+			if (expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+				throw new PreconditionFailedException("Categoria " + id + " foi alterada: versão atual "
+						+ entity.getVersion() + ", esperada " + expectedVersion);
+			}
 			entity.setName(dto.getName());
 			entity = repository.save(entity);
+			repository.flush();
+			evictProductsOfCategory(id);
+			changeEvents.record(EntityType.CATEGORY, id, Operation.UPDATED);
 			return new CategoryDTO(entity);
 		}
 		catch (EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
-		}		
+		}
+		catch (OptimisticLockingFailureException e) {
+			if (expectedVersion != null) {
+				throw new PreconditionFailedException("Categoria " + id + " foi alterada por outra requisição");
+			}
+			throw e;
+		}
 	}
 
-    @Transactional(propagation = Propagation.SUPPORTS)
+    @Transactional
     public void delete(Long id) {
     	if (!repository.existsById(id)) {
     		throw new ResourceNotFoundException("Recurso não encontrado");
     	}
     	try {
-            repository.deleteById(id);    		
+            // Mesma transação do evento do outbox; o flush antecipa a violação de integridade para o catch
+            catalogVersion.increment();
+            repository.deleteById(id);
+            repository.flush();
+            changeEvents.record(EntityType.CATEGORY, id, Operation.DELETED);
+            tombstones.record(EntityType.CATEGORY, id);
     	}
         catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Falha de integridade referencial");
         }
     }
+
+	// O ProductDTO em cache carrega o nome da categoria, então só os produtos dessa categoria são invalidados
+	private void evictProductsOfCategory(Long categoryId) {
+		Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+		for (Long productId : productRepository.findIdsByCategory(categoryId)) {
+			products.evict(productId);
+		}
+	}
+
+
+	// O snapshot atende sem ordenação ou só por id; ordenar por nome depende da collation do banco (e do
+	// ignoreCase do Sort), então fica com a consulta paginada
+	private boolean servedBySnapshot(Sort sort) {
+		for (Sort.Order order : sort) {
+			if (!order.getProperty().equals("id")) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
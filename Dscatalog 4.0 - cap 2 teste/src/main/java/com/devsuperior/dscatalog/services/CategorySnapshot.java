@@ -0,0 +1,58 @@
+package com.devsuperior.dscatalog.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+
+// Cópia imutável de todas as categorias, com ETag forte calculado a partir do conteúdo. CategoryDTO é mutável:
+// o snapshot guarda cópias próprias e entrega cópias a cada chamada
+public final class CategorySnapshot {
+
+	private final long version;
+	private final List<CategoryDTO> categories;
+	private final String etag;
+
+	public CategorySnapshot(long version, List<CategoryDTO> categories) {
+		this.version = version;
+		this.categories = copyOf(categories);
+		this.etag = computeEtag(this.categories);
+	}
+
+	// Versão do catálogo em que as categorias foram lidas
+	public long getVersion() {
+		return version;
+	}
+
+	public List<CategoryDTO> getCategories() {
+		return copyOf(categories);
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	private static List<CategoryDTO> copyOf(List<CategoryDTO> categories) {
+		return categories.stream().map(x -> {
+			CategoryDTO copy = new CategoryDTO(x.getId(), x.getName());
+			copy.setVersion(x.getVersion());
+			return copy;
+		}).toList();
+	}
+
+	private static String computeEtag(List<CategoryDTO> categories) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (CategoryDTO cat : categories) {
+				digest.update((cat.getId() + ":" + cat.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+			}
+			return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
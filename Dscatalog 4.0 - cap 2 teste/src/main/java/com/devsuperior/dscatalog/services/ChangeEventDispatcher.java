@@ -0,0 +1,106 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+import com.devsuperior.dscatalog.entities.ChangeEvent;
+import com.devsuperior.dscatalog.entities.ChangeFeedPosition;
+import com.devsuperior.dscatalog.repositories.ChangeEventRepository;
+import com.devsuperior.dscatalog.repositories.ChangeFeedPositionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Drena o outbox em lotes de batchSize, cada lote na sua transação: trava os pendentes, reserva as posições
+// do feed em tb_change_feed_position, publica no sink e marca como despachados. A linha do contador fica
+// travada até o commit, então dois dispatchers concorrentes numeram os lotes em fila e o feed nunca tem buracos
+@Component
+public class ChangeEventDispatcher {
+
+	@Autowired
+	private ChangeEventRepository repository;
+
+	@Autowired
+	private ChangeFeedPositionRepository positionRepository;
+
+	@Autowired
+	private ChangeEventSink sink;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${dscatalog.outbox.batch-size}")
+	private int batchSize;
+
+	@Value("${dscatalog.outbox.retention}")
+	private Duration retention;
+
+	private final Counter dispatched;
+
+	public ChangeEventDispatcher(MeterRegistry registry) {
+		dispatched = Counter.builder("dscatalog.outbox.dispatched").description("Eventos do outbox publicados no sink")
+				.register(registry);
+	}
+
+	@Scheduled(fixedDelayString = "${dscatalog.outbox.dispatch-interval}")
+	public int dispatchPending() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		int total = 0;
+		int sent;
+		do {
+			sent = transaction.execute(status -> dispatchBatch());
+			total += sent;
+		}
+		while (sent == batchSize);
+		return total;
+	}
+
+	@Scheduled(fixedDelayString = "${dscatalog.outbox.purge-interval}")
+	public int purgeDispatched() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		return transaction.execute(status -> repository.deleteDispatchedBefore(Instant.now().minus(retention)));
+	}
+
+	private int dispatchBatch() {
+		List<ChangeEvent> batch = repository.findPendingForDispatch(PageRequest.of(0, batchSize));
+		if (batch.isEmpty()) {
+			return 0;
+		}
+		long position = reservePositions(batch.size());
+		Instant now = Instant.now();
+		for (ChangeEvent event : batch) {
+			event.markDispatched(++position, now);
+		}
+		// Conflito de posição aparece aqui, antes de o sink receber o lote
+		repository.flush();
+		try {
+			sink.publish(batch.stream().map(ChangeEventDTO::new).toList());
+		}
+		catch (Exception e) {
+			throw new IllegalStateException("Falha ao publicar lote do outbox, será reenviado", e);
+		}
+		dispatched.increment(batch.size());
+		return batch.size();
+	}
+
+	// Devolve a última posição já atribuída antes da faixa reservada. Sem a linha do contador (banco anterior a
+	// tb_change_feed_position), parte do maior evento retido, que é o melhor palpite disponível
+	private long reservePositions(int count) {
+		if (positionRepository.advance(ChangeFeedPosition.SINGLETON_ID, count) == 0) {
+			long last = repository.findMaxPosition().orElse(0L);
+			positionRepository.save(new ChangeFeedPosition(ChangeFeedPosition.SINGLETON_ID, last + count));
+			return last;
+		}
+		return positionRepository.findPosition(ChangeFeedPosition.SINGLETON_ID).orElseThrow() - count;
+	}
+}
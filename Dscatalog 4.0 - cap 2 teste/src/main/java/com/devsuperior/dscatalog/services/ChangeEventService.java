@@ -0,0 +1,78 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.entities.ChangeEvent;
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.ChangeEvent.Operation;
+import com.devsuperior.dscatalog.entities.ChangeFeedPosition;
+import com.devsuperior.dscatalog.repositories.ChangeEventRepository;
+import com.devsuperior.dscatalog.repositories.ChangeFeedPositionRepository;
+import com.devsuperior.dscatalog.services.exceptions.ChangesExpiredException;
+
+import io.micrometer.core.annotation.Timed;
+
+// Grava os eventos no outbox dentro da transação de quem escreve (commit e rollback juntos) e serve o feed
+// GET /changes, que só mostra eventos já despachados, na ordem de posição atribuída pelo dispatcher
+@Service
+@Timed(value = "dscatalog.service")
+public class ChangeEventService {
+
+	@Autowired
+	private ChangeEventRepository repository;
+
+	@Autowired
+	private ChangeFeedPositionRepository positionRepository;
+
+	@Transactional
+	public void record(EntityType entityType, Long entityId, Operation operation) {
+		repository.save(new ChangeEvent(entityType, entityId, operation));
+	}
+
+	// Só os ids que existem em tb_product geram evento; chamar antes do DELETE
+	@Transactional
+	public void recordExistingProducts(Collection<Long> productIds, Operation operation) {
+		repository.insertForProducts(productIds, operation.name());
+	}
+
+	// categoryId nulo: todos os produtos
+	@Transactional
+	public void recordProductsOfCategory(Long categoryId, Operation operation) {
+		if (categoryId == null) {
+			repository.insertForAllProducts(operation.name());
+		}
+		else {
+			repository.insertForProductsOfCategory(categoryId, operation.name());
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public ChangeFeedDTO findChanges(long since, int limit) {
+		if (since > 0) {
+			// Com tudo expurgado, o primeiro evento retido é o próximo a ser despachado
+			long last = positionRepository.findPosition(ChangeFeedPosition.SINGLETON_ID).orElse(0L);
+			long oldest = repository.findMinPosition().orElse(last + 1);
+			if (since > last) {
+				throw new ChangesExpiredException("A posição " + since + " nunca foi atribuída por este feed (última: "
+						+ last + "); recarregue o catálogo e continue a partir de " + last);
+			}
+			if (since < oldest - 1) {
+				throw new ChangesExpiredException("Eventos após a posição " + since
+						+ " já foram expurgados; recarregue o catálogo e continue a partir de " + (oldest - 1));
+			}
+		}
+		List<ChangeEvent> events = repository.findDispatchedAfter(since, PageRequest.of(0, limit + 1));
+		boolean hasMore = events.size() > limit;
+		List<ChangeEventDTO> changes = events.stream().limit(limit).map(ChangeEventDTO::new).toList();
+		long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getPosition();
+		return new ChangeFeedDTO(changes, next, hasMore);
+	}
+}
@@ -0,0 +1,12 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.List;
+
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+
+// Destino dos lotes do outbox. Chamado dentro da transação do dispatcher: se publish lançar exceção, o lote
+// continua pendente e é reenviado no próximo ciclo (entrega pelo menos uma vez; o id do evento serve para dedup)
+public interface ChangeEventSink {
+
+	void publish(List<ChangeEventDTO> batch) throws Exception;
+}
@@ -0,0 +1,49 @@
+package com.devsuperior.dscatalog.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.devsuperior.dscatalog.services.exceptions.InvalidCursorException;
+
+// Token opaco da sincronização incremental: posição (updatedAt, id) do último item entregue.
+// O cursor inicial de modifiedSince=T é (T, 0), então o primeiro lote inclui o que mudou exatamente em T
+public final class DeltaCursor {
+
+	private final Instant modifiedAt;
+	private final Long id;
+
+	public DeltaCursor(Instant modifiedAt, Long id) {
+		this.modifiedAt = modifiedAt;
+		this.id = id;
+	}
+
+	public Instant getModifiedAt() {
+		return modifiedAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public boolean isAfter(DeltaCursor other) {
+		int byTime = modifiedAt.compareTo(other.modifiedAt);
+		return byTime != 0 ? byTime > 0 : id > other.id;
+	}
+
+	public String encode() {
+		String raw = id + ":" + modifiedAt;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static DeltaCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(':');
+			return new DeltaCursor(Instant.parse(raw.substring(separator + 1)), Long.valueOf(raw.substring(0, separator)));
+		}
+		catch (RuntimeException e) {
+			throw new InvalidCursorException("Cursor inválido");
+		}
+	}
+}
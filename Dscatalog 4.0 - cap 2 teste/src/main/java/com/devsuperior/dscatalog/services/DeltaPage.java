@@ -0,0 +1,37 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.devsuperior.dscatalog.entities.Tombstone;
+
+// Intercala as linhas vivas e os tombstones, ambos já ordenados por (instante, id) e buscados com size + 1,
+// e corta no tamanho do lote. next é a posição do último item entregue (ou o cursor de entrada, se vazio)
+record DeltaPage<E>(List<E> live, List<Long> deleted, DeltaCursor next, boolean hasMore) {
+
+	static <E> DeltaPage<E> merge(DeltaCursor from, List<E> live, Function<E, DeltaCursor> position,
+			List<Tombstone> tombstones, int size) {
+		List<E> taken = new ArrayList<>();
+		List<Long> deleted = new ArrayList<>();
+		DeltaCursor last = from;
+		int i = 0;
+		int j = 0;
+		while (taken.size() + deleted.size() < size && (i < live.size() || j < tombstones.size())) {
+			DeltaCursor liveAt = i < live.size() ? position.apply(live.get(i)) : null;
+			DeltaCursor deletedAt = j < tombstones.size()
+					? new DeltaCursor(tombstones.get(j).getDeletedAt(), tombstones.get(j).getEntityId())
+					: null;
+			if (deletedAt == null || (liveAt != null && deletedAt.isAfter(liveAt))) {
+				taken.add(live.get(i++));
+				last = liveAt;
+			}
+			else {
+				deleted.add(tombstones.get(j++).getEntityId());
+				last = deletedAt;
+			}
+		}
+		boolean hasMore = i < live.size() || j < tombstones.size();
+		return new DeltaPage<>(taken, deleted, last, hasMore);
+	}
+}
@@ -0,0 +1,41 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Fila local de teste: acrescenta cada lote como NDJSON em um arquivo e força o fsync antes de devolver
+@Component
+@ConditionalOnProperty(name = "dscatalog.outbox.sink", havingValue = "file")
+public class FileChangeSink implements ChangeEventSink {
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${dscatalog.outbox.file}")
+	private Path file;
+
+	@Override
+	public synchronized void publish(List<ChangeEventDTO> batch) throws IOException {
+		StringBuilder lines = new StringBuilder();
+		for (ChangeEventDTO event : batch) {
+			lines.append(objectMapper.writeValueAsString(event)).append('\n');
+		}
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC)) {
+			writer.write(lines.toString());
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.devsuperior.dscatalog.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.devsuperior.dscatalog.services.exceptions.InvalidCursorException;
+
+// Token opaco da paginação por cursor: guarda a chave de ordenação (name) e o id da última linha entregue
+public final class KeysetCursor {
+
+	private final String name;
+	private final Long id;
+
+	public KeysetCursor(String name, Long id) {
+		this.name = name;
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String encode() {
+		String raw = id + ":" + name;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static KeysetCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(':');
+			return new KeysetCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+		}
+		catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new InvalidCursorException("Cursor inválido");
+		}
+	}
+}
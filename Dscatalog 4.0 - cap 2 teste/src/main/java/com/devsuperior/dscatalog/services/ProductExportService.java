@@ -0,0 +1,128 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.InvalidDataException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed(value = "dscatalog.service")
+public class ProductExportService {
+
+	public static final String NDJSON = "ndjson";
+	public static final String CSV = "csv";
+
+	private static final int CHUNK_SIZE = 500;
+
+	@Autowired
+	private ProductRepository repository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	public static void validateFormat(String format) {
+		if (!NDJSON.equals(format) && !CSV.equals(format)) {
+			throw new InvalidDataException("Formato de exportação inválido: " + format);
+		}
+	}
+
+	// REPEATABLE_READ: produtos e as consultas de categorias de cada lote leem o mesmo snapshot (MVCC), então o
+	// catálogo exportado é consistente mesmo com escritas concorrentes; em READ_COMMITTED as categorias de um
+	// lote posterior viriam de commits feitos depois da leitura do produto.
+	// A escrita bloqueante no OutputStream segura a leitura do cursor quando o cliente é lento.
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public long exportAll(String format, OutputStream out) throws IOException {
+		validateFormat(format);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		ObjectWriter json = NDJSON.equals(format) ? objectMapper.writer() : null;
+		if (CSV.equals(format)) {
+			writer.write("id,name,price,imgUrl,date,categories,description\n");
+		}
+
+		long count = 0;
+		try (Stream<ProductDTO> stream = repository.streamAllForExport()) {
+			Iterator<ProductDTO> it = stream.iterator();
+			List<ProductDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+			while (it.hasNext()) {
+				chunk.add(it.next());
+				if (chunk.size() == CHUNK_SIZE || !it.hasNext()) {
+					loadCategories(chunk);
+					for (ProductDTO dto : chunk) {
+						if (json != null) {
+							writer.write(json.writeValueAsString(dto));
+							writer.write('\n');
+						}
+						else {
+							writeCsvLine(writer, dto);
+						}
+					}
+					count += chunk.size();
+					chunk.clear();
+					writer.flush();
+				}
+			}
+		}
+		writer.flush();
+		return count;
+	}
+
+	private void loadCategories(List<ProductDTO> chunk) {
+		Map<Long, ProductDTO> byId = new HashMap<>();
+		chunk.forEach(dto -> byId.put(dto.getId(), dto));
+		for (ProductCategoryProjection cat : repository.searchCategories(List.copyOf(byId.keySet()))) {
+			byId.get(cat.productId()).getCategories().add(new CategoryDTO(cat.id(), cat.name()));
+		}
+	}
+
+	private void writeCsvLine(Writer writer, ProductDTO dto) throws IOException {
+		String categories = dto.getCategories().stream().map(CategoryDTO::getName).collect(Collectors.joining("|"));
+		writer.write(String.valueOf(dto.getId()));
+		writer.write(',');
+		writer.write(csv(dto.getName()));
+		writer.write(',');
+		writer.write(dto.getPrice() == null ? "" : String.valueOf(dto.getPrice()));
+		writer.write(',');
+		writer.write(csv(dto.getImgUrl()));
+		writer.write(',');
+		writer.write(dto.getDate() == null ? "" : dto.getDate().toString());
+		writer.write(',');
+		writer.write(csv(categories));
+		writer.write(',');
+		writer.write(csv(dto.getDescription()));
+		writer.write('\n');
+	}
+
+	private static String csv(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+}
@@ -0,0 +1,57 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.dto.ProductFacetsDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.ProductSpecifications;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed(value = "dscatalog.service")
+public class ProductFacetService {
+
+	static final double[] PRICE_BOUNDS = { 100.0, 500.0, 1000.0, 2000.0 };
+
+	@Autowired
+	private ProductRepository repository;
+
+	@Autowired
+	private CatalogVersionService catalogVersion;
+
+	// Facetas sem filtro guardadas com a versão do catálogo em que foram calculadas. A versão é a persistida
+	// em tb_catalog_version: escritas de outras instâncias também forçam o recálculo, no máximo um
+	// refresh-interval depois, e não só as escritas locais
+	private final AtomicReference<FacetsSnapshot> unfiltered = new AtomicReference<>();
+
+	private record FacetsSnapshot(long version, ProductFacetsDTO facets) {
+	}
+
+	@Transactional(readOnly = true)
+	public ProductFacetsDTO findFacets(ProductFilterDTO filter) {
+		if (!filter.isEmpty()) {
+			return compute(filter);
+		}
+		// Lida antes da consulta, que então enxerga pelo menos essa versão (com réplica, só a lê se ela já chegou lá)
+		long version = catalogVersion.current();
+		FacetsSnapshot current = unfiltered.get();
+		if (current != null && current.version() >= version) {
+			return current.facets();
+		}
+		FacetsSnapshot fresh = new FacetsSnapshot(version, compute(filter));
+		unfiltered.accumulateAndGet(fresh, (kept, built) -> kept == null || built.version() > kept.version() ? built : kept);
+		return fresh.facets();
+	}
+
+	private ProductFacetsDTO compute(ProductFilterDTO filter) {
+		return new ProductFacetsDTO(
+				repository.countByCategory(ProductSpecifications.of(filter.withoutCategory())),
+				repository.countByPriceRange(ProductSpecifications.of(filter.withoutPrice()), PRICE_BOUNDS));
+	}
+}
@@ -0,0 +1,342 @@
+package com.devsuperior.dscatalog.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+// Índice invertido em memória sobre name e description, com ranking BM25.
+// Cada (re)indexação recebe um ordinal novo e crescente, então as postings já ficam ordenadas
+// e a interseção dos termos é um merge; documentos removidos só são descartados na compactação.
+@Component
+public class ProductSearchIndex {
+
+	private static final int NAME_BOOST = 3;
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final int MIN_DELETED_TO_COMPACT = 10_000;
+	private static final long REMOVED = -1L;
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Postings> postings = new HashMap<>();
+	private final Map<Long, Integer> ordinals = new HashMap<>();
+	// Ids removidos desde o beginLoad(); null fora da carga inicial
+	private Set<Long> removedDuringLoad;
+
+	private long[] productIds = new long[1024];
+	private int[] lengths = new int[1024];
+	private int nextOrdinal;
+	private int deleted;
+	private long totalLength;
+
+	public record Hits(long total, List<Long> ids) {
+	}
+
+	public void index(Long id, String name, String description) {
+		Map<String, Integer> frequencies = frequencies(name, description);
+		lock.writeLock().lock();
+		try {
+			removeOrdinal(id);
+			add(id, frequencies);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Carga inicial: entre beginLoad() e endLoad() os ids removidos ficam registrados, porque a leitura da carga
+	// pode ter visto a linha antes do commit do DELETE e o remove() do afterCommit chegar antes do indexIfAbsent()
+	public void beginLoad() {
+		lock.writeLock().lock();
+		try {
+			removedDuringLoad = new HashSet<>();
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void endLoad() {
+		lock.writeLock().lock();
+		try {
+			removedDuringLoad = null;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Usado na carga inicial: não sobrescreve um produto que uma escrita concorrente já reindexou nem
+	// devolve ao índice um produto removido durante a carga
+	public void indexIfAbsent(Long id, String name, String description) {
+		Map<String, Integer> frequencies = frequencies(name, description);
+		lock.writeLock().lock();
+		try {
+			if (!ordinals.containsKey(id) && (removedDuringLoad == null || !removedDuringLoad.contains(id))) {
+				add(id, frequencies);
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			if (removedDuringLoad != null) {
+				removedDuringLoad.add(id);
+			}
+			removeOrdinal(id);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return ordinals.size();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Todos os termos da consulta precisam aparecer no produto; devolve os ids de [offset, offset + limit)
+	public Hits search(String query, int offset, int limit) {
+		Set<String> terms = new LinkedHashSet<>(tokenize(query));
+		if (terms.isEmpty() || limit <= 0) {
+			return new Hits(0, List.of());
+		}
+		lock.readLock().lock();
+		try {
+			List<Postings> lists = new ArrayList<>(terms.size());
+			for (String term : terms) {
+				Postings list = postings.get(term);
+				if (list == null) {
+					return new Hits(0, List.of());
+				}
+				lists.add(list);
+			}
+			lists.sort((a, b) -> Integer.compare(a.size, b.size));
+			return collect(lists, offset, limit);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Hits collect(List<Postings> lists, int offset, int limit) {
+		int live = ordinals.size();
+		double avgLength = live == 0 ? 1.0 : Math.max(1.0, (double) totalLength / live);
+		double[] idf = new double[lists.size()];
+		for (int i = 0; i < idf.length; i++) {
+			int df = lists.get(i).size;
+			idf[i] = Math.log(1.0 + (live - df + 0.5) / (df + 0.5));
+		}
+
+		int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+		PriorityQueue<ScoredDoc> top = new PriorityQueue<>(ScoredDoc.WORST_FIRST);
+		int[] cursors = new int[lists.size()];
+		Postings first = lists.get(0);
+		long total = 0;
+		candidates:
+		for (int c = 0; c < first.size; c++) {
+			int doc = first.docs[c];
+			if (productIds[doc] == REMOVED) {
+				continue;
+			}
+			for (int i = 1; i < lists.size(); i++) {
+				Postings other = lists.get(i);
+				cursors[i] = other.advance(cursors[i], doc);
+				if (cursors[i] >= other.size) {
+					break candidates;
+				}
+				if (other.docs[cursors[i]] != doc) {
+					continue candidates;
+				}
+			}
+			double norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+			double score = 0;
+			for (int i = 0; i < lists.size(); i++) {
+				int tf = lists.get(i).freqs[i == 0 ? c : cursors[i]];
+				score += idf[i] * tf * (K1 + 1) / (tf + norm);
+			}
+			total++;
+			ScoredDoc scored = new ScoredDoc(productIds[doc], score);
+			if (top.size() < wanted) {
+				top.add(scored);
+			}
+			else if (ScoredDoc.WORST_FIRST.compare(scored, top.peek()) > 0) {
+				top.poll();
+				top.add(scored);
+			}
+		}
+
+		ScoredDoc[] ranked = top.toArray(new ScoredDoc[0]);
+		Arrays.sort(ranked, ScoredDoc.WORST_FIRST.reversed());
+		List<Long> ids = new ArrayList<>(Math.max(0, ranked.length - offset));
+		for (int i = offset; i < ranked.length; i++) {
+			ids.add(ranked[i].productId());
+		}
+		return new Hits(total, ids);
+	}
+
+	private void add(Long id, Map<String, Integer> frequencies) {
+		int ordinal = nextOrdinal++;
+		if (ordinal == productIds.length) {
+			productIds = Arrays.copyOf(productIds, ordinal * 2);
+			lengths = Arrays.copyOf(lengths, ordinal * 2);
+		}
+		int length = 0;
+		for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+			postings.computeIfAbsent(e.getKey(), x -> new Postings()).add(ordinal, e.getValue());
+			length += e.getValue();
+		}
+		productIds[ordinal] = id;
+		lengths[ordinal] = length;
+		ordinals.put(id, ordinal);
+		totalLength += length;
+	}
+
+	private void removeOrdinal(Long id) {
+		Integer ordinal = ordinals.remove(id);
+		if (ordinal == null) {
+			return;
+		}
+		productIds[ordinal] = REMOVED;
+		totalLength -= lengths[ordinal];
+		deleted++;
+		compactIfNeeded();
+	}
+
+	// Renumera os ordinais vivos e descarta as postings de documentos removidos
+	private void compactIfNeeded() {
+		if (deleted < MIN_DELETED_TO_COMPACT || deleted < ordinals.size()) {
+			return;
+		}
+		int[] remap = new int[nextOrdinal];
+		int live = 0;
+		for (int ord = 0; ord < nextOrdinal; ord++) {
+			if (productIds[ord] == REMOVED) {
+				remap[ord] = -1;
+			}
+			else {
+				remap[ord] = live;
+				productIds[live] = productIds[ord];
+				lengths[live] = lengths[ord];
+				ordinals.put(productIds[live], live);
+				live++;
+			}
+		}
+		Iterator<Postings> it = postings.values().iterator();
+		while (it.hasNext()) {
+			Postings list = it.next();
+			list.remap(remap);
+			if (list.size == 0) {
+				it.remove();
+			}
+		}
+		nextOrdinal = live;
+		deleted = 0;
+	}
+
+	private static Map<String, Integer> frequencies(String name, String description) {
+		Map<String, Integer> frequencies = new HashMap<>();
+		for (String token : tokenize(name)) {
+			frequencies.merge(token, NAME_BOOST, Integer::sum);
+		}
+		for (String token : tokenize(description)) {
+			frequencies.merge(token, 1, Integer::sum);
+		}
+		return frequencies;
+	}
+
+	// Minúsculas e sem acentos: "Eletrônicos" e "eletronicos" caem no mesmo termo
+	static List<String> tokenize(String text) {
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+		String normalized = MARKS.matcher(Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD)).replaceAll("");
+		List<String> tokens = new ArrayList<>();
+		for (String token : SEPARATORS.split(normalized)) {
+			if (!token.isEmpty()) {
+				tokens.add(token);
+			}
+		}
+		return tokens;
+	}
+
+	private record ScoredDoc(long productId, double score) {
+
+		// Menor score primeiro; no empate o maior id é o pior, para a ordem final ser estável
+		static final Comparator<ScoredDoc> WORST_FIRST = (a, b) -> {
+			int byScore = Double.compare(a.score, b.score);
+			return byScore != 0 ? byScore : Long.compare(b.productId, a.productId);
+		};
+	}
+
+	private static final class Postings {
+
+		private int[] docs = new int[4];
+		private short[] freqs = new short[4];
+		private int size;
+
+		void add(int doc, int freq) {
+			if (size == docs.length) {
+				docs = Arrays.copyOf(docs, size * 2);
+				freqs = Arrays.copyOf(freqs, size * 2);
+			}
+			docs[size] = doc;
+			freqs[size] = (short) Math.min(freq, Short.MAX_VALUE);
+			size++;
+		}
+
+		// Primeira posição a partir de from com docs[pos] >= doc (busca exponencial + binária)
+		int advance(int from, int doc) {
+			int step = 1;
+			int hi = from;
+			while (hi < size && docs[hi] < doc) {
+				from = hi + 1;
+				hi += step;
+				step <<= 1;
+			}
+			int index = Arrays.binarySearch(docs, from, Math.min(hi + 1, size), doc);
+			return index >= 0 ? index : -index - 1;
+		}
+
+		void remap(int[] remap) {
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				int doc = remap[docs[i]];
+				if (doc >= 0) {
+					docs[kept] = doc;
+					freqs[kept] = freqs[i];
+					kept++;
+				}
+			}
+			size = kept;
+			if (docs.length > 16 && size < docs.length / 4) {
+				docs = Arrays.copyOf(docs, Math.max(4, size));
+				freqs = Arrays.copyOf(freqs, Math.max(4, size));
+			}
+		}
+	}
+}
@@ -1,28 +1,80 @@
 package com.devsuperior.dscatalog.services;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.dto.BatchItemErrorDTO;
+import com.devsuperior.dscatalog.dto.BatchResultDTO;
+import com.devsuperior.dscatalog.dto.BulkResultDTO;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.DeltaDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.PriceAdjustmentDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.ChangeEvent.Operation;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.entities.Tombstone;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductBatchRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.ProductSpecifications;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidDataException;
+import com.devsuperior.dscatalog.services.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
+@Timed(value = "dscatalog.service")
 public class ProductService {
 
     @Autowired
@@ -31,12 +83,138 @@ public class ProductService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductBatchRepository batchRepository;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private CatalogVersionService catalogVersion;
+
+    @Autowired
+    private ChangeEventService changeEvents;
+
+    @Autowired
+    private TombstoneService tombstones;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${dscatalog.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     @Transactional(readOnly = true)
     public Page<ProductDTO> findAllPaged(Pageable pageable) {
-        Page<Product> list = repository.findAll(pageable);
-        return list.map(x -> new ProductDTO(x));
+        return findAllPaged(pageable, false);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> findAllPaged(Pageable pageable, boolean includeDescription) {
+        return findAllPaged(new ProductFilterDTO(), pageable, includeDescription);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> findAllPaged(ProductFilterDTO filter, Pageable pageable, boolean includeDescription) {
+        Page<ProductDTO> page;
+        if (!filter.isEmpty()) {
+            page = repository.searchSummaries(ProductSpecifications.of(filter), pageable, includeDescription);
+        }
+        else {
+            page = includeDescription
+                    ? repository.searchSummariesWithDescription(pageable)
+                    : repository.searchSummaries(pageable);
+        }
+        if (!page.isEmpty()) {
+            loadCategories(page.stream().collect(Collectors.toMap(ProductDTO::getId, x -> x)));
+        }
+        return page;
+    }
+
+    // Busca textual no índice em memória; o banco só hidrata os ids da página, na ordem de relevância
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> search(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidDataException("Termo de busca vazio");
+        }
+        ProductSearchIndex.Hits hits = searchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+        Map<Long, ProductDTO> byId = repository.searchSummariesByIds(hits.ids()).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, x -> x));
+        loadCategories(byId);
+        List<ProductDTO> content = hits.ids().stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, hits.total());
     }
 
+    // Carga inicial do índice; escritas concorrentes já reindexam no afterCommit e não são sobrescritas, e
+    // produtos excluídos durante a carga não voltam ao índice
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildSearchIndex() {
+        searchIndex.beginLoad();
+        try (Stream<ProductDTO> stream = repository.streamAllForExport()) {
+            stream.forEach(dto -> searchIndex.indexIfAbsent(dto.getId(), dto.getName(), dto.getDescription()));
+        }
+        finally {
+            searchIndex.endLoad();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorSliceDTO<ProductDTO> findAllAfter(String after, int size) {
+        // Busca size + 1 linhas apenas para saber se existe próxima fatia, sem count(*)
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Product> list;
+        if (after == null || after.isEmpty()) {
+            list = repository.findFirstSeek(limit);
+        }
+        else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            list = repository.findSeekAfter(cursor.getName(), cursor.getId(), limit);
+        }
+
+        String next = null;
+        if (list.size() > size) {
+            list = list.subList(0, size);
+            Product last = list.get(size - 1);
+            next = new KeysetCursor(last.getName(), last.getId()).encode();
+        }
+        if (!list.isEmpty()) {
+            repository.findProductsWithCategories(list);
+        }
+        List<ProductDTO> content = list.stream().map(x -> new ProductDTO(x, x.getCategories())).toList();
+        return new CursorSliceDTO<>(content, size, next);
+    }
+
+    // Delta desde modifiedSince (ou a partir do cursor after): produtos completos, com descrição e categorias,
+    // e ids excluídos. Renomear uma categoria não altera o updatedAt dos produtos; isso chega pelo delta de categorias
+    @Transactional(readOnly = true)
+    public DeltaDTO<ProductDTO> findModifiedSince(Instant modifiedSince, String after, int size) {
+        DeltaCursor from = after == null || after.isEmpty() ? new DeltaCursor(modifiedSince, 0L) : DeltaCursor.decode(after);
+        Instant until = tombstones.deltaUntil(from);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Product> live = repository.findModifiedAfter(from.getModifiedAt(), from.getId(), until, limit);
+        List<Tombstone> deleted = tombstones.findDeletedAfter(EntityType.PRODUCT, from, until, size + 1);
+
+        DeltaPage<Product> page = DeltaPage.merge(from, live, x -> new DeltaCursor(x.getUpdatedAt(), x.getId()), deleted, size);
+        if (!page.live().isEmpty()) {
+            repository.findProductsWithCategories(page.live());
+        }
+        List<ProductDTO> changed = page.live().stream().map(x -> new ProductDTO(x, x.getCategories())).toList();
+        return new DeltaDTO<>(changed, page.deleted(), page.next().encode(), page.hasMore());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     @Transactional(readOnly = true)
     public ProductDTO findById(Long id) {
         Optional<Product> obj = repository.findById(id);
@@ -46,49 +224,326 @@ public class ProductService {
 
     @Transactional
     public ProductDTO insert(ProductDTO dto) {
+        catalogVersion.increment();
         Product entity = new Product();
         copyDtoToEntity(dto, entity);
         entity = repository.save(entity);
+        indexAfterCommit(entity);
+        changeEvents.record(EntityType.PRODUCT, entity.getId(), Operation.CREATED);
         return new ProductDTO(entity);
     }
 
+    // Lê o array JSON item a item e grava em lotes de batchChunkSize, cada lote na sua transação
+    public BatchResultDTO insertAll(InputStream input) throws IOException {
+        BatchResultDTO result = new BatchResultDTO();
+        List<ProductDTO> chunk = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidDataException("Corpo deve ser um array JSON de produtos");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                result.addReceived(1);
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    result.addError(index++, "Item não é um objeto JSON");
+                    continue;
+                }
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    chunk.add(objectMapper.treeToValue(node, ProductDTO.class));
+                    indexes.add(index);
+                }
+                catch (JsonProcessingException e) {
+                    result.addError(index, "Item inválido: " + e.getOriginalMessage());
+                }
+                index++;
+                if (chunk.size() == batchChunkSize) {
+                    writeChunk(chunk, indexes, result);
+                    chunk.clear();
+                    indexes.clear();
+                }
+            }
+        }
+        catch (JsonProcessingException e) {
+            result.addError(index, "JSON malformado, leitura interrompida: " + e.getOriginalMessage());
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, indexes, result);
+        }
+        result.getErrors().sort(Comparator.comparing(BatchItemErrorDTO::getIndex));
+        return result;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     @Transactional
     public ProductDTO update(Long id, ProductDTO dto) {
+        return update(id, dto, null);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional
+    public ProductDTO update(Long id, ProductDTO dto, Long expectedVersion) {
+        return write(id, expectedVersion, entity -> copyDtoToEntity(dto, entity));
+    }
+
+    // JSON Merge Patch (RFC 7386) sobre a representação do produto: campo ausente fica como está,
+    // null limpa o campo e "categories", quando presente, substitui o conjunto de categorias.
+    // Sem "categories" a coleção nem é carregada; com @DynamicUpdate o UPDATE leva só as colunas alteradas.
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional
+    public ProductDTO patch(Long id, JsonNode patch, Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidDataException("Merge patch deve ser um objeto JSON");
+        }
+        return write(id, expectedVersion, entity -> applyMergePatch(patch, entity));
+    }
+
+    // expectedVersion != null: escrita condicional (If-Match). A versão é conferida ao carregar e de novo
+    // no UPDATE ... WHERE version = ?, que o flush executa aqui para o DTO devolvido já trazer a versão nova.
+    // A versão do catálogo vem antes de tudo: o @PreUpdate só carimba updatedAt depois da fila dessa trava
+    private ProductDTO write(Long id, Long expectedVersion, Consumer<Product> changes) {
         try {
+            catalogVersion.increment();
             Product entity = repository.getReferenceById(id);
-            copyDtoToEntity(dto, entity);
+            if (expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+                throw new PreconditionFailedException("Produto " + id + " foi alterado: versão atual "
+                        + entity.getVersion() + ", esperada " + expectedVersion);
+            }
+            changes.accept(entity);
             entity = repository.save(entity);
+            repository.flush();
+            indexAfterCommit(entity);
+            changeEvents.record(EntityType.PRODUCT, id, Operation.UPDATED);
             return new ProductDTO(entity);
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id not found " + id);
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException("Produto " + id + " foi alterado por outra requisição");
+            }
+            throw e;
         }
     }
 
-    @Transactional(propagation = Propagation.SUPPORTS)
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional
     public void delete(Long id) {
         if (!repository.existsById(id)) {
             throw new ResourceNotFoundException("Recurso não encontrado");
         }
         try {
+            // Uma transação só para o DELETE e o evento do outbox; o flush antecipa a violação de integridade
+            catalogVersion.increment();
             repository.deleteById(id);
+            repository.flush();
+            AfterCommit.run(() -> searchIndex.remove(id));
+            changeEvents.record(EntityType.PRODUCT, id, Operation.DELETED);
+            tombstones.record(EntityType.PRODUCT, id);
         }
         catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Falha de integridade referencial");
         }
     }
 
+    // Remoção em massa em uma única transação: dois DELETEs por fatia de até BULK_CHUNK_SIZE ids
+    // (a fatia só limita o tamanho do IN). Ids inexistentes são ignorados e ficam fora de affected.
+    @Transactional
+    public BulkResultDTO deleteAll(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidDataException("Informe ao menos um id");
+        }
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        int affected = 0;
+        catalogVersion.increment();
+        try {
+            for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+                List<Long> chunk = distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size()));
+                changeEvents.recordExistingProducts(chunk, Operation.DELETED);
+                tombstones.recordExistingProducts(chunk);
+                repository.bulkDeleteCategoryLinks(chunk);
+                affected += repository.bulkDelete(chunk);
+            }
+        }
+        catch (DataIntegrityViolationException e) {
+            throw new DatabaseException("Falha de integridade referencial");
+        }
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        distinct.forEach(products::evict);
+        AfterCommit.run(() -> distinct.forEach(searchIndex::remove));
+        return new BulkResultDTO(distinct.size(), affected);
+    }
+
+    // Um único UPDATE; o cache de produtos é limpo inteiro após o commit em vez de buscar os ids afetados
+    @Transactional
+    public BulkResultDTO adjustPrices(PriceAdjustmentDTO dto) {
+        if (dto.getPercent() == null || dto.getPercent() <= -100.0) {
+            throw new InvalidDataException("Percentual de reajuste deve ser maior que -100");
+        }
+        if (dto.getCategoryId() != null && !categoryRepository.existsById(dto.getCategoryId())) {
+            throw new ResourceNotFoundException("Categoria não encontrada: " + dto.getCategoryId());
+        }
+        double factor = 1.0 + dto.getPercent() / 100.0;
+        catalogVersion.increment();
+        Instant updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        int affected;
+        if (dto.getCategoryId() == null) {
+            affected = repository.bulkAdjustPrice(factor, updatedAt);
+        }
+        else {
+            affected = repository.bulkAdjustPriceByCategory(dto.getCategoryId(), factor, updatedAt);
+        }
+        cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+        changeEvents.recordProductsOfCategory(dto.getCategoryId(), Operation.UPDATED);
+        return new BulkResultDTO(null, affected);
+    }
+
+    private void writeChunk(List<ProductDTO> chunk, List<Integer> indexes, BatchResultDTO result) {
+        // Uma única consulta resolve todas as categorias referenciadas no lote
+        Set<Long> categoryIds = new HashSet<>();
+        chunk.forEach(dto -> dto.getCategories().forEach(cat -> categoryIds.add(cat.getId())));
+        Set<Long> existing = new HashSet<>();
+        categoryRepository.findAllById(categoryIds).forEach(cat -> existing.add(cat.getId()));
+
+        List<ProductDTO> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String error = validateBatchItem(chunk.get(i), existing);
+            if (error == null) {
+                valid.add(chunk.get(i));
+                validIndexes.add(indexes.get(i));
+            }
+            else {
+                result.addError(indexes.get(i), error);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            List<Long> ids = transaction.execute(status -> insertChunk(valid));
+            indexInserted(valid, ids);
+            result.addInserted(valid.size());
+        }
+        catch (DataAccessException e) {
+            // O lote falhou inteiro: regrava item a item para isolar os que o banco recusa
+            for (int i = 0; i < valid.size(); i++) {
+                List<ProductDTO> single = List.of(valid.get(i));
+                try {
+                    List<Long> ids = transaction.execute(status -> insertChunk(single));
+                    indexInserted(single, ids);
+                    result.addInserted(1);
+                }
+                catch (DataAccessException itemError) {
+                    result.addError(validIndexes.get(i), "Falha ao gravar: "
+                            + itemError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private List<Long> insertChunk(List<ProductDTO> items) {
+        catalogVersion.increment();
+        List<Long> ids = batchRepository.insertAll(items, Instant.now().truncatedTo(ChronoUnit.MICROS));
+        // Um INSERT ... SELECT por chunk: com IDENTITY, o saveAll dos eventos seria um INSERT por produto
+        changeEvents.recordExistingProducts(ids, Operation.CREATED);
+        return ids;
+    }
+
+    private void indexInserted(List<ProductDTO> items, List<Long> ids) {
+        for (int i = 0; i < items.size(); i++) {
+            searchIndex.index(ids.get(i), items.get(i).getName(), items.get(i).getDescription());
+        }
+    }
+
+    private void indexAfterCommit(Product entity) {
+        Long id = entity.getId();
+        String name = entity.getName();
+        String description = entity.getDescription();
+        AfterCommit.run(() -> searchIndex.index(id, name, description));
+    }
+
+    private void loadCategories(Map<Long, ProductDTO> byId) {
+        for (ProductCategoryProjection cat : repository.searchCategories(List.copyOf(byId.keySet()))) {
+            byId.get(cat.productId()).getCategories().add(new CategoryDTO(cat.id(), cat.name()));
+        }
+    }
+
+    private String validateBatchItem(ProductDTO dto, Set<Long> existingCategories) {
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            return "Campo nome é vazio ou nulo";
+        }
+        for (CategoryDTO cat : dto.getCategories()) {
+            if (cat.getId() == null || !existingCategories.contains(cat.getId())) {
+                return "Categoria não encontrada: " + cat.getId();
+            }
+        }
+        return null;
+    }
+
     private void copyDtoToEntity(ProductDTO dto, Product entity) {
+        copyFieldsToEntity(dto, entity);
+        updateCategories(entity, dto.getCategories());
+    }
 
+    private void copyFieldsToEntity(ProductDTO dto, Product entity) {
         entity.setName(dto.getName());
         entity.setDescription(dto.getDescription());
         entity.setDate(dto.getDate());
         entity.setImgUrl(dto.getImgUrl());
         entity.setPrice(dto.getPrice());
+    }
+
+    // Aplica a diferença entre os vínculos atuais e os pedidos: só os que mudaram viram DELETE/INSERT
+    // em tb_product_category, e um vínculo que permanece nunca é removido e readicionado
+    private void updateCategories(Product entity, List<CategoryDTO> categories) {
+        Set<Long> wanted = categories.stream().map(CategoryDTO::getId).collect(Collectors.toSet());
+        entity.getCategories().removeIf(cat -> !wanted.contains(cat.getId()));
+        Set<Long> current = entity.getCategories().stream().map(Category::getId).collect(Collectors.toSet());
+        for (Long categoryId : wanted) {
+            if (!current.contains(categoryId)) {
+                entity.getCategories().add(categoryRepository.getReferenceById(categoryId));
+            }
+        }
+    }
+
+    private void applyMergePatch(JsonNode patch, Product entity) {
+        ObjectNode fields = ((ObjectNode) patch).deepCopy();
+        JsonNode categories = fields.remove("categories");
+        try {
+            JsonNode current = objectMapper.valueToTree(new ProductDTO(entity));
+            copyFieldsToEntity(objectMapper.treeToValue(mergePatch(current, fields), ProductDTO.class), entity);
+            if (categories != null) {
+                List<CategoryDTO> list = categories.isNull()
+                        ? List.of()
+                        : objectMapper.readerForListOf(CategoryDTO.class).readValue(categories);
+                updateCategories(entity, list);
+            }
+        }
+        catch (IOException e) {
+            throw new InvalidDataException("Merge patch inválido: " + e.getMessage());
+        }
+    }
 
-        entity.getCategories().clear();
-        for (CategoryDTO catDto : dto.getCategories()) {
-            Category category = categoryRepository.getReferenceById(catDto.getId());
-            entity.getCategories().add(category);
+    static JsonNode mergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
         }
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : JsonNodeFactory.instance.objectNode();
+        patch.fields().forEachRemaining(field -> {
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            }
+            else {
+                result.set(field.getKey(), mergePatch(result.get(field.getKey()), field.getValue()));
+            }
+        });
+        return result;
     }
 }
@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+import com.devsuperior.dscatalog.repositories.ReactiveCategoryRepository;
+import com.devsuperior.dscatalog.repositories.ReactiveProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveCatalogService {
+
+	// Produtos são agrupados em blocos para buscar as categorias de cada bloco em uma consulta só
+	private static final int CATEGORY_CHUNK = 500;
+
+	@Autowired
+	private ReactiveProductRepository repository;
+
+	@Autowired
+	private ReactiveCategoryRepository categoryRepository;
+
+	public Flux<ProductDTO> findAllProducts(long offset, Integer limit) {
+		// concatMap mantém a ordem e só pede o próximo bloco quando o anterior foi consumido
+		return repository.findAll(offset, limit)
+				.buffer(CATEGORY_CHUNK)
+				.concatMap(this::withCategories);
+	}
+
+	public Mono<ProductDTO> findProductById(Long id) {
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Entity not found")))
+				.flatMap(dto -> withCategories(List.of(dto)).single());
+	}
+
+	public Flux<CategoryDTO> findAllCategories() {
+		return categoryRepository.findAll();
+	}
+
+	public Mono<CategoryDTO> findCategoryById(Long id) {
+		return categoryRepository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Entity not found")));
+	}
+
+	private Flux<ProductDTO> withCategories(List<ProductDTO> chunk) {
+		Map<Long, ProductDTO> byId = new HashMap<>();
+		chunk.forEach(dto -> byId.put(dto.getId(), dto));
+		return repository.searchCategories(byId.keySet())
+				.doOnNext((ProductCategoryProjection cat) -> byId.get(cat.productId()).getCategories()
+						.add(new CategoryDTO(cat.id(), cat.name())))
+				.thenMany(Flux.fromIterable(chunk));
+	}
+}
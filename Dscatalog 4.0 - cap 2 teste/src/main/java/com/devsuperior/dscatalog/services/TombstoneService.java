@@ -0,0 +1,69 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.Tombstone;
+import com.devsuperior.dscatalog.repositories.TombstoneRepository;
+import com.devsuperior.dscatalog.services.exceptions.ChangesExpiredException;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed(value = "dscatalog.service")
+public class TombstoneService {
+
+	@Autowired
+	private TombstoneRepository repository;
+
+	@Value("${dscatalog.delta.retention}")
+	private Duration retention;
+
+	@Value("${dscatalog.delta.settle-time}")
+	private Duration settleTime;
+
+	@Transactional
+	public void record(EntityType entityType, Long entityId) {
+		repository.save(new Tombstone(entityType, entityId));
+	}
+
+	@Transactional
+	public void recordExistingProducts(Collection<Long> productIds) {
+		repository.insertForProducts(productIds, Instant.now().truncatedTo(ChronoUnit.MICROS));
+	}
+
+	// Limite superior do delta: o que mudou nos últimos settleTime fica para o próximo lote, porque uma
+	// transação ainda aberta pode commitar com updatedAt anterior ao cursor já entregue ao cliente.
+	// Cursores mais antigos que a retenção apontam para tombstones já expurgados
+	public Instant deltaUntil(DeltaCursor from) {
+		Instant now = Instant.now();
+		if (from.getModifiedAt().isBefore(now.minus(retention))) {
+			throw new ChangesExpiredException("Exclusões anteriores a " + now.minus(retention)
+					+ " já foram expurgadas; recarregue o catálogo inteiro");
+		}
+		return now.minus(settleTime).truncatedTo(ChronoUnit.MICROS);
+	}
+
+	@Transactional(readOnly = true)
+	public List<Tombstone> findDeletedAfter(EntityType entityType, DeltaCursor from, Instant until, int limit) {
+		return repository.findDeletedAfter(entityType, from.getModifiedAt(), from.getId(), until,
+				PageRequest.of(0, limit));
+	}
+
+	@Scheduled(fixedDelayString = "${dscatalog.delta.purge-interval}")
+	@Transactional
+	public int purgeExpired() {
+		return repository.deleteOlderThan(Instant.now().minus(retention));
+	}
+}
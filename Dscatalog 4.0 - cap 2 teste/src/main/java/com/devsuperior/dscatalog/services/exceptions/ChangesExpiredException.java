@@ -0,0 +1,9 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+public class ChangesExpiredException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public ChangesExpiredException(String msg) {
+		super(msg);
+	}
+}
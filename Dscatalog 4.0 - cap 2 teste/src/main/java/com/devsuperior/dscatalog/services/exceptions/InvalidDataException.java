@@ -0,0 +1,9 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+public class InvalidDataException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public InvalidDataException(String msg) {
+		super(msg);
+	}
+}
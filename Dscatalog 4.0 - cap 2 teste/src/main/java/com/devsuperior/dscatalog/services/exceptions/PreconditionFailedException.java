@@ -0,0 +1,9 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public PreconditionFailedException(String msg) {
+		super(msg);
+	}
+}
@@ -54,3 +54,6 @@ INSERT INTO tb_product_category (product_id, category_id) VALUES (22, 3);
 INSERT INTO tb_product_category (product_id, category_id) VALUES (23, 3);
 INSERT INTO tb_product_category (product_id, category_id) VALUES (24, 3);
 INSERT INTO tb_product_category (product_id, category_id) VALUES (25, 3);
+
+INSERT INTO tb_catalog_version (id, version) VALUES (1, 0);
+INSERT INTO tb_change_feed_position (id, position) VALUES (1, 0);
@@ -0,0 +1,157 @@
+package com.devsuperior.dscatalog;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+// A aplicação em outro processo (JVM nova ou binário nativo), para os benchmarks de inicialização e memória.
+// O relógio começa no fork; a saída vai para o arquivo de log informado
+public class ForkedApplication implements AutoCloseable {
+
+    private final Process process;
+    private final long startedAt;
+    private final int port;
+    private final Path log;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private ForkedApplication(Process process, long startedAt, int port, Path log) {
+        this.process = process;
+        this.startedAt = startedAt;
+        this.port = port;
+        this.log = log;
+    }
+
+    // command sem a porta: --server.port é acrescentado aqui
+    public static ForkedApplication start(List<String> command, Path log) throws IOException {
+        int port = freePort();
+        List<String> full = new ArrayList<>(command);
+        full.add("--server.port=" + port);
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(full).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        return new ForkedApplication(process, startedAt, port, log);
+    }
+
+    public static List<String> jvmCommand(String classpath, List<String> jvmArgs, List<String> appArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(DscatalogApplication.class.getName());
+        command.addAll(appArgs);
+        return command;
+    }
+
+    // Classpath dos testes com as classes da aplicação num jar (o CDS recusa diretórios no classpath) e sem
+    // os demais diretórios (classes de teste)
+    public static String applicationClasspath(Path workDir) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (!Files.isDirectory(path)) {
+                entries.add(entry);
+            }
+            else if (Files.exists(path.resolve(DscatalogApplication.class.getName().replace('.', '/') + ".class"))) {
+                entries.add(0, jar(path, workDir.resolve("app.jar")).toString());
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    // Espera a primeira resposta a path e devolve o tempo desde o fork
+    public Duration awaitFirstResponse(String path, Duration timeout) throws Exception {
+        HttpRequest request = request(path);
+        while (System.nanoTime() - startedAt < timeout.toNanos()) {
+            if (!process.isAlive()) {
+                Assertions.fail("exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                Assertions.assertEquals(200, response.statusCode(), path);
+                return Duration.ofNanos(System.nanoTime() - startedAt);
+            }
+            catch (ConnectException e) {
+                Thread.sleep(10);
+            }
+        }
+        return Assertions.fail("no response within " + timeout + ", see " + log);
+    }
+
+    public HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    public boolean waitForExit(Duration timeout) throws InterruptedException {
+        return process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // VmRSS em KB; -1 fora do Linux
+    public long rssKb() throws IOException {
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D+", "")))
+                .findFirst().orElse(-1);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private static Path jar(Path classes, Path target) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(target));
+             Stream<Path> files = Files.walk(classes)) {
+            // Entradas de diretório incluídas: sem elas o component scan não encontra os pacotes no jar
+            for (Path file : files.filter(x -> !x.equals(classes)).toList()) {
+                String name = classes.relativize(file).toString().replace('\\', '/');
+                out.putNextEntry(new JarEntry(Files.isDirectory(file) ? name + "/" : name));
+                if (Files.isRegularFile(file)) {
+                    Files.copy(file, out);
+                }
+                out.closeEntry();
+            }
+        }
+        return target;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.devsuperior.dscatalog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+// Testes contra o executável nativo, fora da JVM dos testes:
+//   mvn -Pnative native:compile && mvn test -Dtest=NativeImageIT
+// Sem o executável (-Ddscatalog.native.image=<caminho>, padrão target/dscatalog) os testes são ignorados
+public class NativeImageIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final int WARM_UP_REQUESTS = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path dir;
+
+    private Path image;
+
+    @BeforeEach
+    void setUp() {
+        image = Path.of(System.getProperty("dscatalog.native.image", "target/dscatalog"));
+        Assumptions.assumeTrue(Files.isExecutable(image), "native image not found: " + image);
+    }
+
+    @Test
+    public void nativeImageShouldServeCatalogWritesAndErrors() throws Exception {
+        try (ForkedApplication app = ForkedApplication.start(List.of(image.toString()), dir.resolve("native.log"))) {
+            app.awaitFirstResponse("/products?size=1", STARTUP_TIMEOUT);
+
+            JsonNode page = json(app.get("/products?page=0&size=12"), 200);
+            Assertions.assertEquals(25, page.get("totalElements").asInt());
+
+            JsonNode product = json(app.get("/products/1"), 200);
+            Assertions.assertEquals("The Lord of the Rings", product.get("name").asText());
+            Assertions.assertFalse(product.get("categories").isEmpty());
+
+            JsonNode category = json(app.get("/categories/1"), 200);
+            Assertions.assertEquals("Livros", category.get("name").asText());
+
+            JsonNode notFound = json(app.get("/products/9999"), 404);
+            Assertions.assertEquals("Resource not found", notFound.get("error").asText());
+
+            HttpResponse<String> export = app.get("/products/export?format=ndjson");
+            Assertions.assertEquals(200, export.statusCode());
+            Assertions.assertEquals(25, export.body().lines().count());
+
+            String body = "{\"name\": \"Kindle\", \"price\": 500.0, \"categories\": [{\"id\": 1}]}";
+            JsonNode created = json(app.send(HttpRequest.newBuilder(app.uri("/products"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))), 201);
+            Assertions.assertEquals(26, created.get("id").asInt());
+
+            json(app.get("/catalog/version"), 200);
+        }
+    }
+
+    @Test
+    public void compareStartupAndMemoryWithJvm() throws Exception {
+        String classpath = ForkedApplication.applicationClasspath(dir);
+        Result jvm = measure("JVM", ForkedApplication.jvmCommand(classpath, List.of(), List.of()));
+        Result nativeImage = measure("native", List.of(image.toString()));
+
+        System.out.printf("%-8s %12s %14s %16s%n", "mode", "first req", "RSS after 1st", "RSS after " + WARM_UP_REQUESTS);
+        for (Result r : List.of(jvm, nativeImage)) {
+            System.out.printf("%-8s %9d ms %11d MB %13d MB%n", r.mode(), r.firstRequest().toMillis(),
+                    r.firstRssKb() / 1024, r.steadyRssKb() / 1024);
+        }
+    }
+
+    private Result measure(String mode, List<String> command) throws Exception {
+        try (ForkedApplication app = ForkedApplication.start(command, dir.resolve(mode + ".log"))) {
+            Duration firstRequest = app.awaitFirstResponse("/products?size=1", STARTUP_TIMEOUT);
+            long firstRss = app.rssKb();
+            for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+                Assertions.assertEquals(200, app.get("/products?page=" + (i % 3) + "&size=12").statusCode());
+            }
+            return new Result(mode, firstRequest, firstRss, app.rssKb());
+        }
+    }
+
+    private JsonNode json(HttpResponse<String> response, int expectedStatus) throws Exception {
+        Assertions.assertEquals(expectedStatus, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private record Result(String mode, Duration firstRequest, long firstRssKb, long steadyRssKb) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.devsuperior.dscatalog;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Tempo até a primeira requisição respondida e RSS logo depois dela, em JVMs novas com o classpath dos testes:
+//   mvn test -Dtest=StartupBenchmarkIT          (com -Paot antes, para incluir o modo AOT)
+// Cada modo sobe a aplicação do zero; o relógio começa no fork da JVM. RSS só é medido no Linux (/proc)
+public class StartupBenchmarkIT {
+
+    private static final String AOT_INITIALIZER = "com.devsuperior.dscatalog.DscatalogApplication__ApplicationContextInitializer";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final List<String> PROD = List.of("--spring.profiles.active=prod");
+
+    @TempDir
+    private Path dir;
+
+    private String classpath;
+
+    @Test
+    public void compareStartupModes() throws Exception {
+        classpath = ForkedApplication.applicationClasspath(dir);
+        Path archive = dir.resolve("dscatalog.jsa");
+        List<Result> results = new ArrayList<>();
+
+        results.add(run("default (test profile)", List.of(), List.of()));
+        results.add(run("prod", List.of(), PROD));
+
+        train(archive);
+        results.add(run("prod + CDS", List.of("-XX:SharedArchiveFile=" + archive), PROD));
+
+        if (aotProcessed()) {
+            results.add(run("prod + AOT + CDS", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + archive), PROD));
+        }
+
+        System.out.printf("%-24s %12s %10s%n", "mode", "first req", "RSS");
+        for (Result r : results) {
+            System.out.printf("%-24s %9d ms %7s MB%n", r.mode(), r.firstRequest().toMillis(),
+                    r.rssKb() < 0 ? "n/a" : String.valueOf(r.rssKb() / 1024));
+        }
+    }
+
+    // Execução de treino: a JVM grava as classes carregadas até o ApplicationReadyEvent e encerra
+    private void train(Path archive) throws Exception {
+        List<String> appArgs = List.of("--spring.profiles.active=prod", "--dscatalog.startup.exit-on-ready=true",
+                "--dscatalog.scheduling.enabled=false");
+        ForkedApplication app = ForkedApplication.start(
+                ForkedApplication.jvmCommand(classpath, List.of("-XX:ArchiveClassesAtExit=" + archive), appArgs),
+                dir.resolve("training.log"));
+        Assertions.assertTrue(app.waitForExit(STARTUP_TIMEOUT), "training run did not exit");
+        Assertions.assertTrue(Files.size(archive) > 0);
+    }
+
+    private Result run(String mode, List<String> jvmArgs, List<String> appArgs) throws Exception {
+        Path log = dir.resolve(mode.replaceAll("[^a-zA-Z0-9]+", "-") + ".log");
+        try (ForkedApplication app = ForkedApplication.start(ForkedApplication.jvmCommand(classpath, jvmArgs, appArgs), log)) {
+            Duration firstRequest = app.awaitFirstResponse("/products?size=1", STARTUP_TIMEOUT);
+            return new Result(mode, firstRequest, app.rssKb());
+        }
+    }
+
+    private boolean aotProcessed() {
+        try {
+            Class.forName(AOT_INITIALIZER, false, getClass().getClassLoader());
+            return true;
+        }
+        catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private record Result(String mode, Duration firstRequest, long rssKb) {
+    }
+}
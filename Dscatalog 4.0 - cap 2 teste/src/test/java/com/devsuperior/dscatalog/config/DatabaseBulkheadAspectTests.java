@@ -0,0 +1,166 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.repositories.ProductBatchRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.ReactiveCategoryRepository;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class DatabaseBulkheadAspectTests {
+
+    private DatabaseBulkheadAspect aspect;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        aspect = new DatabaseBulkheadAspect(1, 100);
+    }
+
+    @Test
+    public void limitShouldRejectCallWhenAllPermitsAreTakenForLongerThanTimeout() throws Throwable {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slow = mock(ProceedingJoinPoint.class);
+        when(slow.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return "slow";
+        });
+        ProceedingJoinPoint fast = mock(ProceedingJoinPoint.class);
+        when(fast.proceed()).thenReturn("fast");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> holder = executor.submit(() -> {
+                try {
+                    return aspect.limit(slow);
+                }
+                catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            Assertions.assertThrows(ServiceUnavailableException.class, () -> aspect.limit(fast));
+
+            release.countDown();
+            Assertions.assertEquals("slow", holder.get());
+            Assertions.assertEquals("fast", aspect.limit(fast));
+            Assertions.assertEquals(1, aspect.availablePermits());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void limitShouldReusePermitForNestedCallsOnSameThread() throws Throwable {
+        ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        when(outer.proceed()).thenAnswer(invocation -> aspect.limit(inner));
+
+        Assertions.assertEquals("inner", aspect.limit(outer));
+        Assertions.assertEquals(1, aspect.availablePermits());
+    }
+
+    @Test
+    public void limitShouldReleasePermitWhenCallFails() throws Throwable {
+        ProceedingJoinPoint failing = mock(ProceedingJoinPoint.class);
+        when(failing.proceed()).thenThrow(new IllegalStateException("falha"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> aspect.limit(failing));
+        Assertions.assertEquals(1, aspect.availablePermits());
+    }
+
+    // Sem permissões livres: o repositório JDBC é barrado, o R2DBC (devolve Flux/Mono) nem passa pelo bulkhead
+    @Test
+    public void limitShouldNotApplyToMethodsReturningPublisher() {
+        DatabaseBulkheadAspect exhausted = new DatabaseBulkheadAspect(0, 10);
+
+        ReactiveCategoryRepository reactive = new ReactiveCategoryRepository();
+        ReflectionTestUtils.setField(reactive, "databaseClient", mock(DatabaseClient.class, Answers.RETURNS_DEEP_STUBS));
+        ProductBatchRepository blocking = new ProductBatchRepository();
+        ReflectionTestUtils.setField(blocking, "jdbcTemplate", mock(JdbcTemplate.class));
+
+        Assertions.assertNotNull(proxy(reactive, exhausted).findAll());
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> proxy(blocking, exhausted).insertAll(List.of(), Instant.now()));
+    }
+
+    // A exportação seguraria a permissão durante todo o download: fica de fora, limitada pelos próprios slots
+    @Test
+    public void limitShouldNotApplyToExport() throws Exception {
+        DatabaseBulkheadAspect exhausted = new DatabaseBulkheadAspect(0, 10);
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.streamAllForExport()).thenReturn(Stream.empty());
+        ProductExportService export = new ProductExportService();
+        ReflectionTestUtils.setField(export, "repository", repository);
+
+        Assertions.assertEquals(0, proxy(export, exhausted).exportAll(ProductExportService.CSV, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void defaultDatabasePermitsShouldLeaveOneCarrierFree() {
+        String previous = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+        try {
+            System.setProperty("jdk.virtualThreadScheduler.parallelism", "4");
+            Assertions.assertEquals(3, VirtualThreadsConfig.defaultDatabasePermits());
+            System.setProperty("jdk.virtualThreadScheduler.parallelism", "1");
+            Assertions.assertEquals(1, VirtualThreadsConfig.defaultDatabasePermits());
+        }
+        finally {
+            if (previous == null) {
+                System.clearProperty("jdk.virtualThreadScheduler.parallelism");
+            }
+            else {
+                System.setProperty("jdk.virtualThreadScheduler.parallelism", previous);
+            }
+        }
+    }
+
+    @Test
+    public void carrierThreadsShouldFollowVirtualThreadSchedulerParallelism() {
+        String previous = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+        try {
+            System.clearProperty("jdk.virtualThreadScheduler.parallelism");
+            Assertions.assertEquals(Runtime.getRuntime().availableProcessors(), VirtualThreadsConfig.carrierThreads());
+            System.setProperty("jdk.virtualThreadScheduler.parallelism", "3");
+            Assertions.assertEquals(3, VirtualThreadsConfig.carrierThreads());
+        }
+        finally {
+            if (previous == null) {
+                System.clearProperty("jdk.virtualThreadScheduler.parallelism");
+            }
+            else {
+                System.setProperty("jdk.virtualThreadScheduler.parallelism", previous);
+            }
+        }
+    }
+
+    private static <T> T proxy(T target, DatabaseBulkheadAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.resources.exceptions.StandardError;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.concurrent.Executors;
+
+public class NativeHintsConfigTests {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.DscatalogRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    public void registerHintsShouldAllowJacksonToReadAndWriteDtosAndErrors() {
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onMethod(ProductDTO.class, "getName").test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onMethod(ProductDTO.class, "setName").test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onMethod(ChangeEventDTO.class, "getPosition").test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onMethod(StandardError.class, "getStatus").test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onMethod(PageImpl.class, "getTotalPages").test(hints));
+    }
+
+    @Test
+    public void registerHintsShouldCoverEntitiesAndResources() {
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onType(Product.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.resource().forResource("import.sql").test(hints));
+        // Registrado pelo nome: o método só existe a partir do Java 21
+        Assertions.assertTrue(hints.reflection().getTypeHint(Executors.class).methods()
+                .anyMatch(m -> m.getName().equals("newVirtualThreadPerTaskExecutor")));
+    }
+}
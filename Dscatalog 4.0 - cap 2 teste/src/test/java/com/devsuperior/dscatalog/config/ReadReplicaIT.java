@@ -0,0 +1,195 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+// Dois bancos H2 em memória: testdb faz o papel do primário e replica o da réplica. A "replicação" é uma cópia
+// completa (SCRIPT no primário, RUNSCRIPT na réplica), feita quando o teste quer a réplica em dia.
+// Verificação de atraso chamada à mão (agendamento desligado)
+@SpringBootTest(properties = {
+        "dscatalog.scheduling.enabled=false",
+        "dscatalog.datasource.replica.url=" + ReadReplicaIT.REPLICA_URL,
+        "dscatalog.datasource.replica.max-lag=200ms",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReadReplicaIT {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReplicaRoutingDataSource.resetReadYourWrites();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replicate();
+        lagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.resetReadYourWrites();
+        replica.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void readOnlyTransactionsShouldUseReplicaAndWritesPrimary() {
+        renameOnReplica(1L);
+
+        Assertions.assertTrue(lagMonitor.isReplicaUsable());
+        Assertions.assertEquals("Réplica", productService.findById(1L).getName());
+
+        ProductDTO dto = productService.findById(2L);
+        dto.setName("Novo nome");
+        productService.update(2L, dto);
+
+        Assertions.assertEquals("Novo nome", nameOf(primary, 2L));
+        Assertions.assertNotEquals("Novo nome", nameOf(replica, 2L));
+    }
+
+    @Test
+    public void readsAfterWriteShouldStayOnPrimaryUntilRequestEnds() throws Exception {
+        renameOnReplica(3L);
+        renameOnReplica(4L);
+
+        ProductDTO dto = productService.findById(1L);
+        dto.setPrice(dto.getPrice() + 1.0);
+        productService.update(1L, dto);
+
+        Assertions.assertEquals(nameOf(primary, 3L), productService.findById(3L).getName());
+
+        // Cada requisição começa sem o histórico de escritas da anterior
+        mockMvc.perform(get("/products/{id}", 4L).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.name").value("Réplica"));
+    }
+
+    @Test
+    public void replicaBehindForLongerThanMaxLagShouldFallBackToPrimary() throws Exception {
+        renameOnReplica(5L);
+        renameOnReplica(6L);
+
+        ProductDTO dto = productService.findById(1L);
+        dto.setPrice(dto.getPrice() + 1.0);
+        productService.update(1L, dto);
+        ReplicaRoutingDataSource.resetReadYourWrites();
+
+        lagMonitor.check();
+        Assertions.assertTrue(lagMonitor.isReplicaUsable());
+        Thread.sleep(300);
+        lagMonitor.check();
+        Assertions.assertFalse(lagMonitor.isReplicaUsable());
+        Assertions.assertEquals(nameOf(primary, 5L), productService.findById(5L).getName());
+
+        replicate();
+        renameOnReplica(6L);
+        lagMonitor.check();
+        Assertions.assertTrue(lagMonitor.isReplicaUsable());
+        Assertions.assertEquals("Réplica", productService.findById(6L).getName());
+    }
+
+    // Dentro do max-lag a réplica segue na rota, mas o que sai carimbado com a versão nova do catálogo (ETag das
+    // listagens, snapshot de categorias fixado no servidor) não pode ter sido lido nela antes de ela chegar lá
+    @Test
+    public void versionStampedReadsShouldUsePrimaryWhileReplicaIsBehindThatVersion() throws Exception {
+        renameOnReplica(8L);
+        replica.update("UPDATE tb_category SET name = 'Réplica' WHERE id = 1");
+
+        categoryService.update(2L, categoryService.findById(2L));
+        ReplicaRoutingDataSource.resetReadYourWrites();
+        String etag = "W/\"" + primary.queryForObject("SELECT version FROM tb_catalog_version WHERE id = 1", Long.class) + "\"";
+
+        lagMonitor.check();
+        Assertions.assertTrue(lagMonitor.isReplicaUsable());
+        Assertions.assertEquals("Réplica", productService.findById(8L).getName());
+
+        mockMvc.perform(get("/products?sort=id&size=25").accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", etag))
+                .andExpect(jsonPath("$.content[7].name").value(nameOf(primary, 8L)));
+        mockMvc.perform(get("/categories/all").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].name").value(categoryNameOf(primary, 1L)));
+
+        replicate();
+        renameOnReplica(8L);
+        lagMonitor.check();
+        mockMvc.perform(get("/products?sort=id&size=25").accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", etag))
+                .andExpect(jsonPath("$.content[7].name").value("Réplica"));
+    }
+
+    @Test
+    public void unreachableReplicaShouldFallBackToPrimary() {
+        renameOnReplica(7L);
+        replica.execute("DROP ALL OBJECTS");
+
+        lagMonitor.check();
+
+        Assertions.assertFalse(lagMonitor.isReplicaUsable());
+        Assertions.assertEquals(nameOf(primary, 7L), productService.findById(7L).getName());
+    }
+
+    private void replicate() throws Exception {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            primary.execute("SCRIPT TO '" + script + "'");
+            replica.execute("DROP ALL OBJECTS");
+            replica.execute("RUNSCRIPT FROM '" + script + "'");
+        }
+        finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    private void renameOnReplica(Long id) {
+        replica.update("UPDATE tb_product SET name = 'Réplica' WHERE id = ?", id);
+    }
+
+    private static String nameOf(JdbcTemplate jdbc, Long id) {
+        return jdbc.queryForObject("SELECT name FROM tb_product WHERE id = ?", String.class, id);
+    }
+
+    private static String categoryNameOf(JdbcTemplate jdbc, Long id) {
+        return jdbc.queryForObject("SELECT name FROM tb_category WHERE id = ?", String.class, id);
+    }
+}
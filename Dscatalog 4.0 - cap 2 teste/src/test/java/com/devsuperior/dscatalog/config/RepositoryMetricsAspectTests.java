@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.repositories.ProductBatchRepository;
+import com.devsuperior.dscatalog.repositories.ReactiveCategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class RepositoryMetricsAspectTests {
+
+    // O repositório JDBC é medido; o R2DBC (devolve Flux/Mono) não, o timer só mediria a montagem do Publisher
+    @Test
+    public void measureShouldNotApplyToMethodsReturningPublisher() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        RepositoryMetricsAspect aspect = new RepositoryMetricsAspect(registry);
+
+        ReactiveCategoryRepository reactive = new ReactiveCategoryRepository();
+        ReflectionTestUtils.setField(reactive, "databaseClient", mock(DatabaseClient.class, Answers.RETURNS_DEEP_STUBS));
+        ProductBatchRepository blocking = new ProductBatchRepository();
+        ReflectionTestUtils.setField(blocking, "jdbcTemplate", mock(JdbcTemplate.class));
+
+        proxy(reactive, aspect).findAll();
+        proxy(blocking, aspect).insertAll(List.of(), Instant.now());
+
+        Assertions.assertNull(registry.find("dscatalog.repository").tag("method", "findAll").timer());
+        Assertions.assertNotNull(registry.find("dscatalog.repository").tag("method", "insertAll").timer());
+    }
+
+    private static <T> T proxy(T target, RepositoryMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,105 @@
+package com.devsuperior.dscatalog.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// dscatalog.threads.mode=virtual, que exige runtime Java 21+ (ignorado em runtimes anteriores):
+//   mvn test -Dtest=VirtualThreadsIT -Djvm=<JDK 21>/bin/java
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "dscatalog.threads.mode=virtual",
+        "dscatalog.scheduling.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+public class VirtualThreadsIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatabaseBulkheadAspect bulkhead;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    @BeforeAll
+    static void requireJava21() {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "virtual threads require Java 21+");
+    }
+
+    @Test
+    public void requestsShouldRunOnVirtualThreads() throws Exception {
+        HttpResponse<String> response = get("/test/thread");
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertTrue(response.body().startsWith("VirtualThread"), response.body());
+    }
+
+    @Test
+    public void bulkheadShouldLeaveOneCarrierFreeAndReleasePermitsUnderLoad() throws Exception {
+        int permits = VirtualThreadsConfig.defaultDatabasePermits();
+        Assertions.assertEquals(permits, bulkhead.availablePermits());
+
+        List<CompletableFuture<HttpResponse<String>>> pending = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String path = i % 2 == 0 ? "/products?page=" + (i % 3) + "&size=12" : "/products/" + (1 + i % 25);
+            pending.add(client.sendAsync(request(path), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : pending) {
+            Assertions.assertEquals(200, response.join().statusCode());
+        }
+        Assertions.assertEquals(permits, bulkhead.availablePermits());
+    }
+
+    // StreamingResponseBody roda no applicationTaskExecutor, que em modo virtual também é de virtual threads
+    @Test
+    public void exportShouldStreamWholeCatalog() throws Exception {
+        HttpResponse<String> response = get("/products/export?format=ndjson");
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(25, response.body().lines().count());
+        Assertions.assertEquals(VirtualThreadsConfig.defaultDatabasePermits(), bulkhead.availablePermits());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    @TestConfiguration
+    static class ThreadProbeConfig {
+
+        @Bean
+        ThreadProbe threadProbe() {
+            return new ThreadProbe();
+        }
+    }
+
+    @RestController
+    static class ThreadProbe {
+
+        @GetMapping("/test/thread")
+        String thread() {
+            return Thread.currentThread().toString();
+        }
+    }
+}
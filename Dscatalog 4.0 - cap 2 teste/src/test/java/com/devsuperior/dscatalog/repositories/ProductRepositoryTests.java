@@ -1,22 +1,46 @@
 package com.devsuperior.dscatalog.repositories;
 
+import com.devsuperior.dscatalog.config.SecondLevelCacheConfig;
 import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.factory.ProductFactory;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.PriceRangeFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import javax.swing.*;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
 import java.util.Optional;
 
-@DataJpaTest
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.devsuperior.dscatalog.repositories.SqlRecorder"
+})
+@Import(SecondLevelCacheConfig.class)
 public class ProductRepositoryTests {
 
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private long existingId;
     private long noExistingId;
     private long countTotalProducts;
@@ -57,4 +81,173 @@ public class ProductRepositoryTests {
         Optional<Product> result = repository.findById(noExistingId);
         Assertions.assertTrue(result.isEmpty());
     }
+
+    @Test
+    public void findByIdShouldLoadProductAndCategoriesInOneStatement() {
+        Statistics statistics = startStatistics();
+
+        Product result = repository.findById(existingId).get();
+
+        Assertions.assertTrue(Hibernate.isInitialized(result.getCategories()));
+        Assertions.assertFalse(result.getCategories().isEmpty());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findProductsWithCategoriesShouldLoadPageInTwoStatementsRegardlessOfPageSize() {
+        // Página maior que o total de produtos: o Spring Data dispensa o count, sobram só as duas consultas
+        Assertions.assertEquals(2, countStatementsToLoadPageWithCategories(PageRequest.of(0, 30)));
+
+        // Com count, o número de consultas continua constante e não cresce com o tamanho da página
+        long small = countStatementsToLoadPageWithCategories(PageRequest.of(0, 5));
+        long large = countStatementsToLoadPageWithCategories(PageRequest.of(0, 20));
+        Assertions.assertEquals(3, small);
+        Assertions.assertEquals(small, large);
+    }
+
+    @Test
+    public void findSeekAfterShouldReturnRowsAfterCursorOrderedByNameAndId() {
+        List<Product> first = repository.findFirstSeek(PageRequest.of(0, 3));
+        Product last = first.get(2);
+
+        List<Product> next = repository.findSeekAfter(last.getName(), last.getId(), PageRequest.of(0, 3));
+
+        Assertions.assertEquals("Macbook Pro", first.get(0).getName());
+        Assertions.assertEquals("PC Gamer Alfa", last.getName());
+        Assertions.assertEquals(3, next.size());
+        Assertions.assertTrue(next.get(0).getName().compareTo(last.getName()) > 0);
+    }
+
+    @Test
+    public void searchSummariesShouldApplyOnlyInformedFilters() {
+        Page<ProductDTO> byCategoryAndPrice = repository.searchSummaries(
+                ProductSpecifications.of(new ProductFilterDTO(3L, 1000.0, 1500.0, null)),
+                PageRequest.of(0, 5, Sort.by("price")), false);
+        Page<ProductDTO> byName = repository.searchSummaries(
+                ProductSpecifications.of(new ProductFilterDTO(3L, 1000.0, 1500.0, "gamer")),
+                PageRequest.of(0, 20), false);
+        Page<ProductDTO> unfiltered = repository.searchSummaries(
+                ProductSpecifications.of(new ProductFilterDTO()), PageRequest.of(0, 5), false);
+
+        Assertions.assertEquals(8, byCategoryAndPrice.getTotalElements());
+        Assertions.assertEquals(1200.0, byCategoryAndPrice.getContent().get(0).getPrice());
+        Assertions.assertEquals(7, byName.getTotalElements());
+        Assertions.assertEquals(countTotalProducts, unfiltered.getTotalElements());
+    }
+
+    @Test
+    public void searchSummariesShouldJoinCategoriesOnlyWhenCategoryIsFiltered() {
+        SqlRecorder.clear();
+        repository.searchSummaries(ProductSpecifications.of(new ProductFilterDTO(null, 1000.0, null, null)),
+                PageRequest.of(0, 5), false);
+        Assertions.assertFalse(SqlRecorder.statements().get(0).contains("tb_product_category"));
+
+        SqlRecorder.clear();
+        repository.searchSummaries(ProductSpecifications.of(new ProductFilterDTO(3L, null, null, null)),
+                PageRequest.of(0, 5), false);
+        Assertions.assertTrue(SqlRecorder.statements().get(0).contains("tb_product_category"));
+    }
+
+    @Test
+    public void countByCategoryShouldGroupProductsPerCategoryInOneStatement() {
+        Statistics statistics = startStatistics();
+
+        List<CategoryFacetDTO> facets = repository.countByCategory(ProductSpecifications.of(new ProductFilterDTO()));
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(3, facets.size());
+        Assertions.assertEquals("Computadores", facets.get(0).getName());
+        Assertions.assertEquals(23L, facets.get(0).getCount());
+        Assertions.assertEquals(2L, facets.get(1).getCount());
+        Assertions.assertEquals(1L, facets.get(2).getCount());
+    }
+
+    @Test
+    public void countByPriceRangeShouldCountEveryBucketInOneStatement() {
+        Statistics statistics = startStatistics();
+
+        List<PriceRangeFacetDTO> facets = repository.countByPriceRange(
+                ProductSpecifications.of(new ProductFilterDTO(null, null, null, "gamer")), new double[] { 1500.0, 2000.0 });
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(3, facets.size());
+        Assertions.assertEquals(7L, facets.get(0).getCount());
+        Assertions.assertEquals(8L, facets.get(1).getCount());
+        Assertions.assertEquals(6L, facets.get(2).getCount());
+        Assertions.assertNull(facets.get(2).getMax());
+    }
+
+    @Test
+    public void filteredQueriesShouldUseIndexesInsteadOfFullScan() {
+        // A PK gerada para tb_product_category é (category_id, product_id): serve o filtro por categoria
+        String byCategory = explain(() -> repository.searchSummaries(
+                ProductSpecifications.of(new ProductFilterDTO(3L, null, null, null)), PageRequest.of(0, 5), false));
+        String byPrice = explain(() -> repository.searchSummaries(
+                ProductSpecifications.of(new ProductFilterDTO(null, 1000.0, 1500.0, null)), PageRequest.of(0, 5), false));
+        // Caminho inverso (categorias de uma página de produtos): busca por índice em product_id.
+        // O H2 já indexa a FK sozinho; no Postgres quem atende é o idx_product_category_product
+        String categoriesOfPage = explain(() -> repository.searchCategories(List.of(1L, 2L, 3L)));
+        // O filtro por nome (contém) só reduz as linhas que o índice de categoria/preço já selecionou
+        String byCategoryAndName = explain(() -> repository.searchSummaries(
+                ProductSpecifications.of(new ProductFilterDTO(3L, null, null, "gamer")), PageRequest.of(0, 5), false));
+        String byPriceAndName = explain(() -> repository.searchSummaries(
+                ProductSpecifications.of(new ProductFilterDTO(null, 1000.0, 1500.0, "pc")), PageRequest.of(0, 5), false));
+        // Sozinho, o LIKE '%...%' não tem índice que o atenda: varredura conhecida e aceita
+        String byName = explain(() -> repository.searchSummaries(
+                ProductSpecifications.of(new ProductFilterDTO(null, null, null, "gamer")), PageRequest.of(0, 5), false));
+
+        Assertions.assertTrue(byCategory.contains("CATEGORY_ID = ?1 */"), byCategory);
+        Assertions.assertTrue(byPrice.contains("IDX_PRODUCT_PRICE"), byPrice);
+        Assertions.assertTrue(categoriesOfPage.contains("PRODUCT_ID = P1_0.ID */"), categoriesOfPage);
+        Assertions.assertTrue(byCategoryAndName.contains("CATEGORY_ID = ?1 */"), byCategoryAndName);
+        Assertions.assertTrue(byPriceAndName.contains("IDX_PRODUCT_PRICE"), byPriceAndName);
+        for (String plan : List.of(byCategory, byPrice, categoriesOfPage, byCategoryAndName, byPriceAndName)) {
+            Assertions.assertFalse(plan.contains("tableScan"), plan);
+        }
+        Assertions.assertTrue(byName.contains("tableScan"), byName);
+    }
+
+    @Test
+    public void nameFilterShouldTreatLikeWildcardsAsLiterals() {
+        for (String name : List.of("%", "_", "\\", "PC%", "_C Gamer")) {
+            Page<ProductDTO> result = repository.searchSummaries(
+                    ProductSpecifications.of(new ProductFilterDTO(null, null, null, name)), PageRequest.of(0, 5), false);
+            Assertions.assertEquals(0, result.getTotalElements(), name);
+        }
+        Page<ProductDTO> gamer = repository.searchSummaries(
+                ProductSpecifications.of(new ProductFilterDTO(null, null, null, "c gamer")), PageRequest.of(0, 30), false);
+        Assertions.assertTrue(gamer.getTotalElements() > 0);
+    }
+
+    // Plano do H2 para o SELECT que o Hibernate gerou de fato (os parâmetros ficam em aberto)
+    private String explain(Runnable query) {
+        SqlRecorder.clear();
+        query.run();
+        String sql = SqlRecorder.statements().get(0);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        });
+    }
+
+    private long countStatementsToLoadPageWithCategories(PageRequest pageRequest) {
+        Statistics statistics = startStatistics();
+
+        Page<Product> page = repository.findAll(pageRequest);
+        repository.findProductsWithCategories(page.getContent());
+        page.forEach(p -> p.getCategories().forEach(c -> c.getName()));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics startStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
 }
@@ -0,0 +1,141 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.config.SecondLevelCacheConfig;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.services.CategoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Sem @Transactional: com READ_WRITE, o que uma sessão coloca no cache só é legível por sessões abertas depois
+@SpringBootTest(properties = "dscatalog.scheduling.enabled=false")   // sem o dispatcher do outbox nas contagens
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SecondLevelCacheIT {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final int PAGE_SIZE = 25;   // o catálogo inteiro do import.sql
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Listagem por cursor (findAllAfter): entidades sem fetch join, a coleção de cada produto é um lazy load.
+    // Frio: 1 SELECT da página + 1 por produto; quente: as coleções e as categorias vêm do cache
+    @Test
+    public void seekListingShouldLoadCategoriesFromCacheOnceWarm() {
+        Assertions.assertEquals(3, categoriesOfFirstPage().size());
+        Assertions.assertEquals(1 + PAGE_SIZE, statistics.getPrepareStatementCount());
+
+        for (int i = 0; i < 3; i++) {
+            statistics.clear();
+            Assertions.assertEquals(3, categoriesOfFirstPage().size());
+            Assertions.assertEquals(1, statistics.getPrepareStatementCount());  // só tb_product
+        }
+
+        CacheRegionStatistics collection = statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.PRODUCT_CATEGORIES);
+        Assertions.assertEquals(PAGE_SIZE, collection.getHitCount());
+        Assertions.assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", SecondLevelCacheConfig.CATEGORY).tag("result", "hit").functionCounter().count() > 0);
+    }
+
+    @Test
+    public void categoryFindByIdShouldComeFromCache() {
+        Assertions.assertEquals("Livros", categoryName(1L));
+        statistics.clear();
+
+        Assertions.assertEquals("Livros", categoryName(1L));
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.CATEGORY).getHitCount());
+    }
+
+    @Test
+    public void categoryUpdateShouldRefreshCachedCategory() {
+        categoriesOfFirstPage();
+
+        categoryService.update(1L, new CategoryDTO(1L, "Livros e Revistas"));
+        statistics.clear();
+
+        Set<String> names = categoriesOfFirstPage();
+        Assertions.assertTrue(names.contains("Livros e Revistas"));
+        Assertions.assertFalse(names.contains("Livros"));
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals("Livros e Revistas", categoryName(1L));
+    }
+
+    @Test
+    public void categoryListingShouldComeFromQueryCacheUntilCategoriesChange() {
+        listCategories();
+        statistics.clear();
+
+        Assertions.assertEquals(3, listCategories().size());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+
+        categoryService.insert(new CategoryDTO(null, "Games"));
+        statistics.clear();
+
+        Assertions.assertEquals(4, listCategories().size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Set<String> categoriesOfFirstPage() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Product> page = productRepository.findFirstSeek(PageRequest.of(0, PAGE_SIZE));
+            Set<String> names = new HashSet<>();
+            page.forEach(p -> p.getCategories().forEach(c -> names.add(c.getName())));
+            return names;
+        });
+    }
+
+    private String categoryName(long categoryId) {
+        return new TransactionTemplate(transactionManager).execute(status -> categoryRepository.findById(categoryId).get().getName());
+    }
+
+    private List<Category> listCategories() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Category> list = categoryRepository.findAll(Sort.by("name", "id"));
+            list.forEach(Category::getName);
+            return list;
+        });
+    }
+}
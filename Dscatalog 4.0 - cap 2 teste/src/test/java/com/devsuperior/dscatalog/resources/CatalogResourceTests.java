@@ -0,0 +1,50 @@
+package com.devsuperior.dscatalog.resources;
+
+import com.devsuperior.dscatalog.services.CatalogVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CatalogResource.class)
+public class CatalogResourceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CatalogVersionService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(service.current()).thenReturn(42L);
+    }
+
+    @Test
+    public void versionShouldReturnCurrentVersionWithWeakEtag() throws Exception {
+        mockMvc.perform(get("/catalog/version").accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.version").value(42),
+                        header().string(HttpHeaders.ETAG, "W/\"42\""),
+                        header().string(CatalogResource.VERSION_HEADER, "42")
+                );
+    }
+
+    @Test
+    public void versionShouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        mockMvc.perform(get("/catalog/version").header(HttpHeaders.IF_NONE_MATCH, "W/\"42\""))
+                .andExpectAll(
+                        status().isNotModified(),
+                        content().string("")
+                );
+    }
+}
@@ -0,0 +1,90 @@
+package com.devsuperior.dscatalog.resources;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.services.CatalogVersionService;
+import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.CategorySnapshot;
+import com.devsuperior.dscatalog.services.exceptions.PreconditionFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CategoryResource.class)
+public class CategoryResourceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CategoryService service;
+
+    @MockBean
+    private CatalogVersionService catalogVersion;
+
+    private CategorySnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        snapshot = new CategorySnapshot(0L, List.of(new CategoryDTO(1L, "Livros"), new CategoryDTO(2L, "Eletrônicos")));
+
+        when(service.findAllSnapshot()).thenReturn(snapshot);
+        when(catalogVersion.current()).thenReturn(12L);
+    }
+
+    @Test
+    public void findAllSnapshotShouldReturnCategoriesWithStrongEtag() throws Exception {
+        mockMvc.perform(get("/categories/all").accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.ETAG, snapshot.getEtag()),
+                        header().string(CatalogResource.VERSION_HEADER, "12"),
+                        jsonPath("$[0].name").value("Livros"),
+                        jsonPath("$.length()").value(2)
+                );
+    }
+
+    @Test
+    public void findAllSnapshotShouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        mockMvc.perform(get("/categories/all")
+                        .header(HttpHeaders.IF_NONE_MATCH, snapshot.getEtag())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isNotModified(),
+                        header().string(HttpHeaders.ETAG, snapshot.getEtag()),
+                        content().string("")
+                );
+    }
+
+    @Test
+    public void findAllSnapshotShouldReturnOkWhenEtagIsStale() throws Exception {
+        mockMvc.perform(get("/categories/all")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void updateShouldReturnPreconditionFailedWhenVersionIsStale() throws Exception {
+        when(service.update(eq(1L), any(), eq(0L))).thenThrow(new PreconditionFailedException("versão atual 1"));
+
+        mockMvc.perform(put("/categories/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content("{\"name\": \"Livros técnicos\"}").contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
@@ -0,0 +1,53 @@
+package com.devsuperior.dscatalog.resources;
+
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.services.ChangeEventService;
+import com.devsuperior.dscatalog.services.exceptions.ChangesExpiredException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ChangeResource.class)
+public class ChangeResourceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChangeEventService service;
+
+    @Test
+    public void findChangesShouldClampLimitAndReturnFeed() throws Exception {
+        when(service.findChanges(eq(10L), anyInt())).thenReturn(new ChangeFeedDTO(List.of(), 10L, false));
+
+        mockMvc.perform(get("/changes?since=10&limit=5000").accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.next").value(10),
+                        jsonPath("$.hasMore").value(false)
+                );
+
+        verify(service).findChanges(10L, 1000);
+    }
+
+    @Test
+    public void findChangesShouldReturnGoneWhenCursorExpired() throws Exception {
+        when(service.findChanges(eq(1L), anyInt())).thenThrow(ChangesExpiredException.class);
+
+        mockMvc.perform(get("/changes?since=1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isGone());
+    }
+}
@@ -0,0 +1,87 @@
+package com.devsuperior.dscatalog.resources;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.services.CategoryService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+// Bytes trafegados numa página de produtos: sem compressão, com gzip e revalidada com If-None-Match.
+// Roda com o Tomcat de verdade, porque a compressão não acontece no MockMvc:
+//   mvn test -Dtest=ConditionalGetIT
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn"
+})
+public class ConditionalGetIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void productPageShouldBeCompressedAndRevalidatedWithoutBody() throws Exception {
+        String path = "/products?page=0&size=25&includeDescription=true";
+
+        HttpResponse<byte[]> plain = get(path, Map.of());
+        HttpResponse<byte[]> gzip = get(path, Map.of("Accept-Encoding", "gzip"));
+        String etag = plain.headers().firstValue("ETag").orElseThrow();
+        HttpResponse<byte[]> revalidated = get(path, Map.of("Accept-Encoding", "gzip", "If-None-Match", etag));
+
+        report("identity", plain);
+        report("gzip", gzip);
+        report("304", revalidated);
+
+        Assertions.assertEquals(200, plain.statusCode());
+        Assertions.assertTrue(etag.startsWith("W/\""));
+        Assertions.assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+        Assertions.assertEquals(etag, gzip.headers().firstValue("ETag").orElse(null));
+        Assertions.assertTrue(gzip.body().length * 3 < plain.body().length);
+        Assertions.assertEquals(304, revalidated.statusCode());
+        Assertions.assertEquals(0, revalidated.body().length);
+    }
+
+    @Test
+    public void productPageShouldBeSentAgainAfterCatalogWrite() throws Exception {
+        String path = "/products?page=0&size=12";
+        String etag = get(path, Map.of()).headers().firstValue("ETag").orElseThrow();
+
+        CategoryDTO category = categoryService.findById(1L);
+        categoryService.update(category.getId(), category);
+
+        HttpResponse<byte[]> response = get(path, Map.of("If-None-Match", etag));
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertNotEquals(etag, response.headers().firstValue("ETag").orElse(null));
+    }
+
+    private HttpResponse<byte[]> get(String path, Map<String, String> headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+        headers.forEach(request::header);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // Cabeçalhos contados como "Nome: valor\r\n", mais a linha de status
+    private static void report(String label, HttpResponse<byte[]> response) {
+        long headerBytes = "HTTP/1.1 200 \r\n\r\n".length();
+        for (Map.Entry<String, List<String>> h : response.headers().map().entrySet()) {
+            for (String value : h.getValue()) {
+                headerBytes += h.getKey().length() + 2 + value.length() + 2;
+            }
+        }
+        System.out.printf("%-8s status=%d body=%d bytes headers~%d bytes%n", label, response.statusCode(),
+                response.body().length, headerBytes);
+    }
+}
@@ -0,0 +1,67 @@
+package com.devsuperior.dscatalog.resources;
+
+import com.devsuperior.dscatalog.services.ProductService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    public void findAllShouldRecordServiceAndRepositoryMetrics() throws Exception {
+        mockMvc.perform(get("/products?page=0&size=12").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        Timer service = registry.find("dscatalog.service")
+                .tags("class", ProductService.class.getName(), "method", "findAllPaged").timer();
+        Timer repository = registry.find("dscatalog.repository")
+                .tags("repository", "ProductRepository", "method", "searchSummaries").timer();
+        DistributionSummary rows = registry.find("dscatalog.rows")
+                .tags("repository", "ProductRepository", "method", "searchSummaries").summary();
+
+        Assertions.assertNotNull(service);
+        Assertions.assertNotNull(repository);
+        Assertions.assertEquals(12, rows.max());
+    }
+
+    @Test
+    public void inheritedRepositoryMethodsShouldAlsoBeMeasured() throws Exception {
+        mockMvc.perform(get("/categories?page=0&size=12&sort=createdAt").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        Assertions.assertNotNull(registry.find("dscatalog.repository")
+                .tags("repository", "CategoryRepository", "method", "findAll").timer());
+    }
+
+    @Test
+    public void prometheusEndpointShouldExposeHistogramBuckets() throws Exception {
+        mockMvc.perform(get("/products/1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("dscatalog_service_seconds_bucket")))
+                .andExpect(content().string(containsString("dscatalog_repository_seconds_bucket")));
+    }
+}
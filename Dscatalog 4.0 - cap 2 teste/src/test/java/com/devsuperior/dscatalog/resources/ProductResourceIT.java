@@ -3,17 +3,23 @@ package com.devsuperior.dscatalog.resources;
 import com.devsuperior.dscatalog.dto.ProductDTO;
 import com.devsuperior.dscatalog.factory.ProductFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -88,4 +94,50 @@ public class ProductResourceIT {
                 .andExpectAll(
                         status().isNotFound());
     }
+
+    @Test
+    public void exportShouldStreamWholeCatalogAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/products/export")).andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(countTotalProducts, lines.length);
+        Assertions.assertEquals(existingId, objectMapper.readValue(lines[0], ProductDTO.class).getId());
+        Assertions.assertFalse(objectMapper.readValue(lines[0], ProductDTO.class).getCategories().isEmpty());
+    }
+
+    @Test
+    public void exportShouldStreamWholeCatalogAsCsvWithHeader() throws Exception {
+        MvcResult result = mockMvc.perform(get("/products/export?format=csv")).andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(countTotalProducts + 1, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("id,name,price"));
+        Assertions.assertTrue(lines[1].startsWith("1,The Lord of the Rings,90.5,"));
+    }
+
+    @Test
+    public void updateWithIfMatchShouldSucceedOnceAndThenReturnPreconditionFailed() throws Exception {
+        String etag = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertEquals("\"0\"", etag);
+        String jsonBody = objectMapper.writeValueAsString(ProductFactory.createProductDTO());
+
+        mockMvc.perform(put("/products/{id}", existingId).header(HttpHeaders.IF_MATCH, etag)
+                        .content(jsonBody).contentType(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(), header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/products/{id}", existingId).header(HttpHeaders.IF_MATCH, etag)
+                        .content(jsonBody).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+    }
 }
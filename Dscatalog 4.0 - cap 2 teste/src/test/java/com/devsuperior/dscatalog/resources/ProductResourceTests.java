@@ -1,9 +1,25 @@
 package com.devsuperior.dscatalog.resources;
 
+import com.devsuperior.dscatalog.dto.BatchResultDTO;
+import com.devsuperior.dscatalog.dto.BulkResultDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.DeltaDTO;
+import com.devsuperior.dscatalog.dto.PriceAdjustmentDTO;
+import com.devsuperior.dscatalog.dto.PriceRangeFacetDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFacetsDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
 import com.devsuperior.dscatalog.factory.ProductFactory;
+import com.devsuperior.dscatalog.services.CatalogVersionService;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.ProductFacetService;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.exceptions.ChangesExpiredException;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidCursorException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidDataException;
+import com.devsuperior.dscatalog.services.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,19 +28,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(ProductResource.class)
+@WebMvcTest(value = ProductResource.class, properties = "dscatalog.export.max-concurrent=1")
 public class ProductResourceTests {
 
     @Autowired
@@ -33,6 +57,15 @@ public class ProductResourceTests {
     @MockBean
     private ProductService service;
 
+    @MockBean
+    private ProductExportService exportService;
+
+    @MockBean
+    private ProductFacetService facetService;
+
+    @MockBean
+    private CatalogVersionService catalogVersion;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -55,7 +88,19 @@ public class ProductResourceTests {
         //Mock
 
         // findAll
-        when(service.findAllPaged(any())).thenReturn(page);
+        when(catalogVersion.current()).thenReturn(7L);
+        when(service.findAllPaged(any(ProductFilterDTO.class), any(), anyBoolean())).thenReturn(page);
+        when(service.findAllAfter(eq(""), anyInt())).thenReturn(new CursorSliceDTO<>(List.of(productDTO), 1, "next-token"));
+        when(service.findAllAfter(eq("invalid"), anyInt())).thenThrow(InvalidCursorException.class);
+
+        // facets
+        when(facetService.findFacets(any())).thenReturn(new ProductFacetsDTO(
+                List.of(new CategoryFacetDTO(3L, "Computadores", 24L)),
+                List.of(new PriceRangeFacetDTO(1000.0, 2000.0, 15L))));
+
+        // search
+        when(service.search(eq("tv"), any())).thenReturn(page);
+        when(service.search(eq(" "), any())).thenThrow(InvalidDataException.class);
 
         // findById
         when(service.findById(existingId)).thenReturn(productDTO);
@@ -64,9 +109,16 @@ public class ProductResourceTests {
         // insert
         when(service.insert(any())).thenReturn(productDTO);
 
+        // insertAll
+        BatchResultDTO batchResult = new BatchResultDTO();
+        batchResult.addReceived(2);
+        batchResult.addInserted(1);
+        batchResult.addError(1, "Campo nome é vazio ou nulo");
+        when(service.insertAll(any())).thenReturn(batchResult);
+
         // update
-        when(service.update(eq(existingId), any())).thenReturn(productDTO);
-        when(service.update(eq(nonExistingId), any())).thenThrow(ResourceNotFoundException.class);
+        when(service.update(eq(existingId), any(), any())).thenReturn(productDTO);
+        when(service.update(eq(nonExistingId), any(), any())).thenThrow(ResourceNotFoundException.class);
 
         // delete
         doNothing().when(service).delete(existingId);
@@ -113,6 +165,22 @@ public class ProductResourceTests {
                 );
     }
 
+    @Test
+    public void insertAllShouldReturnPerItemResult() throws Exception {
+
+        String jsonBody = objectMapper.writeValueAsString(List.of(productDTO, new ProductDTO()));
+
+        mockMvc.perform(post("/products/batch").content(jsonBody)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.received").value(2),
+                        jsonPath("$.inserted").value(1),
+                        jsonPath("$.errors[0].index").value(1)
+                );
+    }
+
     @Test
     public void updateShouldReturnProductDTOWhenIdExists() throws Exception {
 
@@ -147,6 +215,109 @@ public class ProductResourceTests {
         mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
     }
 
+    @Test
+    public void findAllShouldReturnWeakEtagAndVersionHeaderFromCatalogVersion() throws Exception {
+        mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.ETAG, "W/\"7\""),
+                        header().string(HttpHeaders.CACHE_CONTROL, "no-cache"),
+                        header().string(CatalogResource.VERSION_HEADER, "7")
+                );
+    }
+
+    @Test
+    public void findAllShouldReturnNotModifiedWithoutQueryingWhenEtagMatches() throws Exception {
+        mockMvc.perform(get("/products?page=2").header(HttpHeaders.IF_NONE_MATCH, "W/\"7\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isNotModified(),
+                        header().string(HttpHeaders.ETAG, "W/\"7\"")
+                );
+
+        verify(service, never()).findAllPaged(any(ProductFilterDTO.class), any(), anyBoolean());
+    }
+
+    @Test
+    public void findAllShouldReturnPageWhenEtagIsStale() throws Exception {
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, "W/\"6\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(service).findAllPaged(any(ProductFilterDTO.class), any(), anyBoolean());
+    }
+
+    @Test
+    public void facetsShouldReturnNotModifiedWithoutQueryingWhenEtagMatches() throws Exception {
+        mockMvc.perform(get("/products/facets").header(HttpHeaders.IF_NONE_MATCH, "W/\"7\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        verify(facetService, never()).findFacets(any());
+    }
+
+    @Test
+    public void findAllShouldRequestDescriptionOnlyWhenAsked() throws Exception {
+        mockMvc.perform(get("/products?includeDescription=true").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(service).findAllPaged(any(ProductFilterDTO.class), any(), eq(true));
+    }
+
+    @Test
+    public void findAllShouldPassFiltersToService() throws Exception {
+        mockMvc.perform(get("/products?categoryId=2&minPrice=100&maxPrice=2000&name=pc&sort=price")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(service).findAllPaged(argThat(f -> f.getCategoryId() == 2L && f.getMinPrice() == 100.0
+                && f.getMaxPrice() == 2000.0 && f.getName().equals("pc")), any(), eq(false));
+    }
+
+    @Test
+    public void findAllShouldReturnSliceWithoutTotalsWhenAfterIsPresent() throws Exception {
+        mockMvc.perform(get("/products?after=&size=1").accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.content[0].id").exists(),
+                        jsonPath("$.next").value("next-token"),
+                        jsonPath("$.hasNext").value(true),
+                        jsonPath("$.totalElements").doesNotExist()
+                );
+    }
+
+    @Test
+    public void findAllShouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+        mockMvc.perform(get("/products?after=invalid").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void exportShouldReturnUnprocessableEntityWhenFormatIsUnknown() throws Exception {
+        mockMvc.perform(get("/products/export?format=xml"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void exportShouldReturnServiceUnavailableWhenExportLimitIsReached() throws Exception {
+        CountDownLatch finish = new CountDownLatch(1);
+        when(exportService.exportAll(any(), any())).thenAnswer(invocation -> {
+            finish.await();
+            return 0L;
+        });
+
+        MvcResult first = mockMvc.perform(get("/products/export?format=ndjson"))
+                .andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(get("/products/export?format=ndjson"))
+                .andExpect(status().isServiceUnavailable());
+
+        finish.countDown();
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+        reset(exportService);
+        mockMvc.perform(get("/products/export?format=ndjson"))
+                .andExpect(request().asyncStarted());
+    }
+
     @Test
     public void findByIdShouldReturnProductDTOWhenIdExists() throws Exception {
         mockMvc.perform(get("/products/{id}", existingId)
@@ -158,4 +329,123 @@ public class ProductResourceTests {
     public void findByIdShouldReturnNotFoundWhenIdDoesNotExists() throws Exception {
         mockMvc.perform(get("/products/{id}", nonExistingId)).andExpect(status().isNotFound());
     }
+
+    @Test
+    public void facetsShouldReturnCategoryAndPriceCountsForFilter() throws Exception {
+        mockMvc.perform(get("/products/facets?categoryId=3&name=gamer").accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.categories[0].name").value("Computadores"),
+                        jsonPath("$.categories[0].count").value(24),
+                        jsonPath("$.priceRanges[0].count").value(15));
+
+        verify(facetService).findFacets(argThat(f -> f.getCategoryId() == 3L && f.getName().equals("gamer")));
+    }
+
+    @Test
+    public void searchShouldReturnPage() throws Exception {
+        mockMvc.perform(get("/products/search?q=tv&page=0&size=12").accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(), jsonPath("$.content").exists(), jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    public void searchShouldReturnUnprocessableEntityWhenQueryIsBlank() throws Exception {
+        mockMvc.perform(get("/products/search?q= ").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void deleteAllShouldReturnAffectedRows() throws Exception {
+        when(service.deleteAll(List.of(1L, 2L, 1000L))).thenReturn(new BulkResultDTO(3, 2));
+
+        mockMvc.perform(delete("/products?ids=1,2,1000").accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(), jsonPath("$.requested").value(3), jsonPath("$.affected").value(2));
+    }
+
+    @Test
+    public void adjustPricesShouldReturnAffectedRows() throws Exception {
+        when(service.adjustPrices(any())).thenReturn(new BulkResultDTO(null, 23));
+        String jsonBody = objectMapper.writeValueAsString(new PriceAdjustmentDTO(3L, -5.0));
+
+        mockMvc.perform(patch("/products/price").content(jsonBody).contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(), jsonPath("$.affected").value(23));
+
+        verify(service).adjustPrices(argThat(dto -> dto.getCategoryId() == 3L && dto.getPercent() == -5.0));
+    }
+
+    @Test
+    public void updateShouldPassIfMatchVersionAndReturnNewEtag() throws Exception {
+        productDTO.setVersion(4L);
+        String jsonBody = objectMapper.writeValueAsString(productDTO);
+
+        mockMvc.perform(put("/products/{id}", existingId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .content(jsonBody).contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(), header().string(HttpHeaders.ETAG, "\"4\""));
+
+        verify(service).update(eq(existingId), any(), eq(3L));
+    }
+
+    @Test
+    public void updateShouldReturnPreconditionFailedWhenVersionIsStale() throws Exception {
+        when(service.update(eq(existingId), any(), eq(2L))).thenThrow(new PreconditionFailedException("versão atual 3"));
+        String jsonBody = objectMapper.writeValueAsString(productDTO);
+
+        mockMvc.perform(put("/products/{id}", existingId)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .content(jsonBody).contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isPreconditionFailed(), jsonPath("$.error").value("Precondition failed"));
+    }
+
+    @Test
+    public void updateShouldReturnPreconditionFailedWhenIfMatchIsWeak() throws Exception {
+        String jsonBody = objectMapper.writeValueAsString(productDTO);
+
+        mockMvc.perform(put("/products/{id}", existingId)
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .content(jsonBody).contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(service, never()).update(any(), any(), any());
+    }
+
+    @Test
+    public void patchShouldAcceptMergePatchAndPassIfMatchVersion() throws Exception {
+        productDTO.setVersion(6L);
+        when(service.patch(eq(existingId), any(), eq(5L))).thenReturn(productDTO);
+
+        mockMvc.perform(patch("/products/{id}", existingId)
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .content("{\"price\": 10.0}").contentType(ProductResource.MERGE_PATCH_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(), header().string(HttpHeaders.ETAG, "\"6\""));
+
+        verify(service).patch(eq(existingId), argThat(node -> node.get("price").asDouble() == 10.0), eq(5L));
+    }
+
+    @Test
+    public void findModifiedSinceShouldReturnChangedAndDeletedWithCursor() throws Exception {
+        Instant since = Instant.parse("2024-01-01T00:00:00Z");
+        when(service.findModifiedSince(eq(since), eq("abc"), eq(1000)))
+                .thenReturn(new DeltaDTO<>(List.of(productDTO), List.of(9L), "next-token", true));
+
+        mockMvc.perform(get("/products?modifiedSince=2024-01-01T00:00:00Z&cursor=abc&size=5000")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.changed[0].id").value(existingId),
+                        jsonPath("$.deleted[0]").value(9L),
+                        jsonPath("$.next").value("next-token"),
+                        jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    public void findModifiedSinceShouldReturnGoneWhenCursorIsOlderThanRetention() throws Exception {
+        when(service.findModifiedSince(any(), any(), anyInt())).thenThrow(ChangesExpiredException.class);
+
+        mockMvc.perform(get("/products?modifiedSince=2000-01-01T00:00:00Z").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isGone());
+    }
 }
@@ -0,0 +1,91 @@
+package com.devsuperior.dscatalog.resources;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.ReactiveCatalogService;
+import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveCatalogHandlerTests {
+
+    @InjectMocks
+    private ReactiveCatalogHandler handler;
+
+    @Mock
+    private ReactiveCatalogService service;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        client = WebTestClient.bindToRouterFunction(RouterFunctions.route()
+                .GET("/products", handler::findAllProducts)
+                .GET("/products/{id}", handler::findProductById)
+                .build()).build();
+    }
+
+    @Test
+    public void findAllProductsShouldClampSizeAndComputeOffset() {
+        when(service.findAllProducts(anyLong(), any())).thenReturn(Flux.empty());
+
+        client.get().uri("/products?page=2&size=500").exchange()
+                .expectStatus().isOk();
+
+        verify(service).findAllProducts(200L, 100);
+    }
+
+    @Test
+    public void findAllProductsShouldStreamWholeCatalogWhenSizeIsAbsent() {
+        when(service.findAllProducts(anyLong(), any())).thenReturn(Flux.just(product(1L), product(2L)));
+
+        client.get().uri("/products").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ProductDTO.class).hasSize(2);
+
+        verify(service).findAllProducts(0L, null);
+    }
+
+    @Test
+    public void findAllProductsShouldReturnBadRequestWhenSizeIsNotNumeric() {
+        client.get().uri("/products?size=abc").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Invalid parameter");
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    public void findProductByIdShouldReturnNotFoundWhenServiceSignalsMissingProduct() {
+        when(service.findProductById(1000L)).thenReturn(Mono.error(new ResourceNotFoundException("Id not found 1000")));
+
+        client.get().uri("/products/1000").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Resource not found")
+                .jsonPath("$.path").isEqualTo("/products/1000");
+    }
+
+    private ProductDTO product(Long id) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setName("Product " + id);
+        return dto;
+    }
+}
@@ -0,0 +1,90 @@
+package com.devsuperior.dscatalog.resources;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.ProductService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.netty.DisposableServer;
+
+import java.util.List;
+
+@SpringBootTest(properties = "dscatalog.reactive.port=0")
+@ActiveProfiles({"test", "reactive"})
+public class ReactiveCatalogIT {
+
+    @Autowired
+    private DisposableServer reactiveServer;
+
+    @Autowired
+    private ProductService productService;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveServer.port()).build();
+    }
+
+    @Test
+    public void findAllProductsShouldReturnRequestedPageWithCategories() {
+        client.get().uri("/products?page=1&size=10").accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(10)
+                .jsonPath("$[0].id").isEqualTo(11)
+                .jsonPath("$[0].categories[0].id").isEqualTo(3)
+                .jsonPath("$[0].description").doesNotExist();
+    }
+
+    @Test
+    public void findAllProductsShouldStreamWholeCatalogAsNdjson() {
+        List<ProductDTO> products = client.get().uri("/products").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        Assertions.assertEquals(25, products.size());
+        Assertions.assertTrue(products.stream().noneMatch(p -> p.getCategories().isEmpty()));
+    }
+
+    @Test
+    public void findProductByIdShouldMatchServletApi() {
+        ProductDTO expected = productService.findById(2L);
+
+        ProductDTO result = client.get().uri("/products/2").exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductDTO.class).returnResult().getResponseBody();
+
+        Assertions.assertEquals(expected.getName(), result.getName());
+        Assertions.assertEquals(expected.getDescription(), result.getDescription());
+        Assertions.assertEquals(expected.getDate(), result.getDate());
+        Assertions.assertEquals(expected.getCategories().size(), result.getCategories().size());
+    }
+
+    @Test
+    public void findProductByIdShouldReturnNotFoundWhenIdDoesNotExist() {
+        client.get().uri("/products/1000").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error").isEqualTo("Resource not found");
+    }
+
+    @Test
+    public void findAllCategoriesShouldReturnAllCategories() {
+        client.get().uri("/categories").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].name").isEqualTo("Livros");
+    }
+}
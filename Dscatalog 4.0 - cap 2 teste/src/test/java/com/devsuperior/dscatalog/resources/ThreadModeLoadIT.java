@@ -0,0 +1,91 @@
+package com.devsuperior.dscatalog.resources;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Teste de carga manual (não roda no mvn test), 2.000 clientes simultâneos:
+//   mvn test -Dtest=ThreadModeLoadIT                                     (platform threads)
+//   mvn test -Dtest=ThreadModeLoadIT -Ddscatalog.threads.mode=virtual    (virtual threads, runtime Java 21+)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "server.tomcat.max-connections=10000",
+        "server.tomcat.accept-count=2000"
+})
+public class ThreadModeLoadIT {
+
+    private static final int CLIENTS = 2_000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${dscatalog.threads.mode}")
+    private String mode;
+
+    @Test
+    public void catalogShouldServeTwoThousandConcurrentClients() throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        List<URI> targets = List.of(
+                URI.create("http://localhost:" + port + "/products?page=0&size=12"),
+                URI.create("http://localhost:" + port + "/products/1"),
+                URI.create("http://localhost:" + port + "/categories"));
+
+        run(client, targets, 2_000); // aquecimento
+
+        Semaphore inFlight = new Semaphore(CLIENTS);
+        AtomicInteger errors = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> pending = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(targets.get(i % targets.size()))
+                    .timeout(Duration.ofSeconds(60)).GET().build();
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        inFlight.release();
+                        latencies.add(System.nanoTime() - sent);
+                        if (e != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).handle((x, e) -> null).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("mode=%s java=%s clients=%d requests=%d errors=%d%n", mode, Runtime.version(), CLIENTS,
+                total, errors.get());
+        System.out.printf("throughput=%.0f req/s p50=%.1f ms p99=%.1f ms%n", total / seconds,
+                sorted.get(sorted.size() / 2) / 1e6, sorted.get(sorted.size() * 99 / 100) / 1e6);
+        Assertions.assertEquals(0, errors.get());
+    }
+
+    private void run(HttpClient client, List<URI> targets, int requests) {
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            pending.add(client.sendAsync(HttpRequest.newBuilder(targets.get(i % targets.size())).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).handle((x, e) -> null).join();
+    }
+}
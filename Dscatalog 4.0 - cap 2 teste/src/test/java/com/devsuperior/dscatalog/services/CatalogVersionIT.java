@@ -0,0 +1,99 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.CatalogVersion;
+import com.devsuperior.dscatalog.repositories.CatalogVersionRepository;
+import com.devsuperior.dscatalog.services.exceptions.PreconditionFailedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+// Sem @Transactional: o contador em memória só avança no commit
+@SpringBootTest(properties = "dscatalog.catalog-version.refresh-interval=100ms")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CatalogVersionIT {
+
+    @Autowired
+    private CatalogVersionService catalogVersion;
+
+    @Autowired
+    private CatalogVersionRepository repository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void eachCommittedWriteShouldIncrementPersistedVersionOnce() {
+        long before = catalogVersion.current();
+
+        ProductDTO product = productService.findById(1L);
+        productService.update(1L, product);
+        categoryService.insert(new CategoryDTO(null, "Games"));
+
+        Assertions.assertEquals(before + 2, catalogVersion.current());
+        Assertions.assertEquals(before + 2, repository.findVersion(CatalogVersion.SINGLETON_ID).orElseThrow());
+    }
+
+    @Test
+    public void rolledBackWriteShouldNotIncrementVersion() {
+        long before = catalogVersion.current();
+        ProductDTO product = productService.findById(1L);
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> {
+            productService.update(1L, product, product.getVersion() + 1);
+        });
+
+        Assertions.assertEquals(before, catalogVersion.current());
+        Assertions.assertEquals(before, repository.findVersion(CatalogVersion.SINGLETON_ID).orElseThrow());
+    }
+
+    @Test
+    public void afterCommitActionsShouldRunBeforeVersionAdvances() {
+        // Sem releitura do banco no meio do teste: só o avanço local no commit muda a versão
+        ReflectionTestUtils.setField(catalogVersion, "refreshInterval", Duration.ofHours(1));
+        long before = catalogVersion.current();
+        long[] seenByAction = new long[1];
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            catalogVersion.increment();
+            AfterCommit.run(() -> seenByAction[0] = catalogVersion.current());
+        });
+
+        Assertions.assertEquals(before, seenByAction[0]);
+        Assertions.assertEquals(before + 1, catalogVersion.current());
+    }
+
+    @Test
+    public void categorySnapshotShouldReflectWriteOfAnotherInstanceAfterVersionRefresh() throws InterruptedException {
+        CategorySnapshot before = categoryService.findAllSnapshot();
+
+        // Escrita de outra instância: não passa por este processo nem pelo seu cache de segundo nível
+        jdbcTemplate.update("UPDATE tb_category SET name = 'Manuais' WHERE id = 1");
+        Assertions.assertSame(before, categoryService.findAllSnapshot());
+
+        jdbcTemplate.update("UPDATE tb_catalog_version SET version = version + 1");
+        Thread.sleep(200);
+        CategorySnapshot after = categoryService.findAllSnapshot();
+
+        Assertions.assertNotEquals(before.getEtag(), after.getEtag());
+        Assertions.assertEquals("Manuais", after.getCategories().get(0).getName());
+    }
+}
@@ -0,0 +1,142 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.factory.ProductFactory;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class CategoryServiceTests {
+
+    @InjectMocks
+    private CategoryService service;
+
+    @Mock
+    private CategoryRepository repository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private CatalogVersionService catalogVersion;
+
+    @Mock
+    private ChangeEventService changeEvents;
+
+    @Mock
+    private TombstoneService tombstones;
+
+    @Mock
+    private Cache cache;
+
+    private long existingId;
+    private Category category;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        existingId = 1L;
+        category = ProductFactory.createCategory();
+
+        when(repository.findAllForSnapshot())
+                .thenReturn(List.of(category, new Category(2L, "Computadores"), new Category(3L, "Eletrônicos")));
+        when(repository.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(new PageImpl<>(List.of(category)));
+        when(repository.getReferenceById(existingId)).thenReturn(category);
+        when(repository.save(ArgumentMatchers.any())).thenReturn(category);
+        when(cacheManager.getCache(ArgumentMatchers.anyString())).thenReturn(cache);
+    }
+
+    @Test
+    public void findAllSnapshotShouldQueryDatabaseOnlyOnceWhileNothingChanges() {
+        CategorySnapshot first = service.findAllSnapshot();
+        CategorySnapshot second = service.findAllSnapshot();
+
+        assertSame(first, second);
+        assertEquals(3, first.getCategories().size());
+        verify(repository, times(1)).findAllForSnapshot();
+    }
+
+    @Test
+    public void findAllSnapshotShouldRebuildWithNewEtagWhenCatalogVersionAdvances() {
+        when(catalogVersion.current()).thenReturn(1L);
+        CategorySnapshot before = service.findAllSnapshot();
+        when(repository.findAllForSnapshot())
+                .thenReturn(List.of(new Category(2L, "Computadores"), new Category(existingId, "Livros técnicos")));
+
+        service.update(existingId, new CategoryDTO(existingId, "Livros técnicos"));
+        when(catalogVersion.current()).thenReturn(2L);
+        CategorySnapshot after = service.findAllSnapshot();
+
+        assertNotSame(before, after);
+        assertNotEquals(before.getEtag(), after.getEtag());
+        verify(repository, times(2)).findAllForSnapshot();
+    }
+
+    @Test
+    public void findAllPagedShouldServePageFromSnapshotWithoutPagedQuery() {
+        Page<CategoryDTO> result = service.findAllPaged(PageRequest.of(1, 2));
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        assertEquals(3L, result.getContent().get(0).getId());
+        verify(repository, never()).findAll(ArgumentMatchers.any(Pageable.class));
+    }
+
+    @Test
+    public void findAllPagedShouldServeDescendingIdOrderFromSnapshot() {
+        Page<CategoryDTO> result = service.findAllPaged(PageRequest.of(0, 3, Sort.by("id").descending()));
+
+        assertEquals(List.of(3L, 2L, 1L), result.getContent().stream().map(CategoryDTO::getId).toList());
+        verify(repository, never()).findAll(ArgumentMatchers.any(Pageable.class));
+    }
+
+    @Test
+    public void findAllPagedShouldUsePagedQueryWhenSortedByName() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Order.asc("name").ignoreCase()));
+
+        service.findAllPaged(pageable);
+
+        verify(repository, times(1)).findAll(pageable);
+    }
+
+    @Test
+    public void findAllSnapshotShouldNotBeChangedByCallers() {
+        CategorySnapshot current = service.findAllSnapshot();
+
+        current.getCategories().get(0).setName("Alterado");
+
+        assertEquals("Electronics", current.getCategories().get(0).getName());
+        assertSame(current, service.findAllSnapshot());
+    }
+
+    @Test
+    public void findAllPagedShouldFallBackToPagedQueryWhenSortIsNotSupported() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt"));
+
+        service.findAllPaged(pageable);
+
+        verify(repository, times(1)).findAll(pageable);
+    }
+}
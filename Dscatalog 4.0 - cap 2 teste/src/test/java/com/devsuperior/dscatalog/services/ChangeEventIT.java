@@ -0,0 +1,166 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.dto.PriceAdjustmentDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.ChangeEvent.Operation;
+import com.devsuperior.dscatalog.repositories.ChangeEventRepository;
+import com.devsuperior.dscatalog.services.ApplicationEventChangeSink.ChangeBatchEvent;
+import com.devsuperior.dscatalog.services.exceptions.ChangesExpiredException;
+import com.devsuperior.dscatalog.services.exceptions.PreconditionFailedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+// Sem @Transactional: os eventos só existem após o commit. O dispatcher é chamado à mão (agendamento desligado)
+// e, com retenção zero, o expurgo apaga todo evento já despachado
+@SpringBootTest(properties = {"dscatalog.scheduling.enabled=false", "dscatalog.outbox.batch-size=10",
+        "dscatalog.outbox.retention=0s"})
+@RecordApplicationEvents
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ChangeEventIT {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ChangeEventService changeEvents;
+
+    @Autowired
+    private ChangeEventDispatcher dispatcher;
+
+    @Autowired
+    private ChangeEventRepository repository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    public void writesShouldBeDispatchedInOrderAndServedByFeed() {
+        ProductDTO product = productService.findById(1L);
+        productService.update(1L, product);
+        productService.delete(25L);
+        CategoryDTO category = categoryService.insert(new CategoryDTO(null, "Games"));
+
+        Assertions.assertEquals(0, changeEvents.findChanges(0, 100).getChanges().size());
+        Assertions.assertEquals(3, dispatcher.dispatchPending());
+
+        ChangeFeedDTO feed = changeEvents.findChanges(0, 100);
+        Assertions.assertEquals(List.of(1L, 2L, 3L), feed.getChanges().stream().map(ChangeEventDTO::getPosition).toList());
+        assertEvent(feed.getChanges().get(0), EntityType.PRODUCT, 1L, Operation.UPDATED);
+        assertEvent(feed.getChanges().get(1), EntityType.PRODUCT, 25L, Operation.DELETED);
+        assertEvent(feed.getChanges().get(2), EntityType.CATEGORY, category.getId(), Operation.CREATED);
+        Assertions.assertEquals(3L, feed.getNext());
+        Assertions.assertFalse(feed.isHasMore());
+
+        List<ChangeBatchEvent> published = applicationEvents.stream(ChangeBatchEvent.class).toList();
+        Assertions.assertEquals(1, published.size());
+        Assertions.assertEquals(3, published.get(0).changes().size());
+        Assertions.assertEquals(0, dispatcher.dispatchPending());
+    }
+
+    @Test
+    public void feedShouldContinueFromNextPosition() {
+        productService.delete(24L);
+        productService.delete(25L);
+        dispatcher.dispatchPending();
+
+        ChangeFeedDTO first = changeEvents.findChanges(0, 1);
+        ChangeFeedDTO second = changeEvents.findChanges(first.getNext(), 1);
+        ChangeFeedDTO empty = changeEvents.findChanges(second.getNext(), 1);
+
+        Assertions.assertTrue(first.isHasMore());
+        Assertions.assertEquals(25L, second.getChanges().get(0).getEntityId());
+        Assertions.assertFalse(second.isHasMore());
+        Assertions.assertTrue(empty.getChanges().isEmpty());
+        Assertions.assertEquals(second.getNext(), empty.getNext());
+    }
+
+    @Test
+    public void bulkWritesShouldRecordOneEventPerAffectedProductInBatches() {
+        productService.adjustPrices(new PriceAdjustmentDTO(3L, 10.0));   // 23 produtos
+        productService.deleteAll(List.of(24L, 25L, 9999L));
+
+        Assertions.assertEquals(25, dispatcher.dispatchPending());
+
+        List<ChangeEventDTO> changes = changeEvents.findChanges(0, 100).getChanges();
+        Assertions.assertEquals(23, changes.stream().filter(e -> e.getOperation() == Operation.UPDATED).count());
+        Assertions.assertEquals(List.of(24L, 25L), changes.stream().filter(e -> e.getOperation() == Operation.DELETED)
+                .map(ChangeEventDTO::getEntityId).sorted().toList());
+        Assertions.assertEquals(3, applicationEvents.stream(ChangeBatchEvent.class).count());
+    }
+
+    @Test
+    public void rolledBackWriteShouldNotRecordEvent() {
+        ProductDTO product = productService.findById(1L);
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> {
+            productService.update(1L, product, product.getVersion() + 1);
+        });
+
+        Assertions.assertEquals(0, repository.count());
+    }
+
+    @Test
+    public void feedShouldThrowChangesExpiredExceptionWhenCursorIsOlderThanRetainedEvents() {
+        productService.deleteAll(List.of(23L, 24L, 25L));
+        dispatcher.dispatchPending();
+        repository.deleteAll(repository.findDispatchedAfter(0L, PageRequest.of(0, 2)));   // expurga as posições 1 e 2
+
+        Assertions.assertThrows(ChangesExpiredException.class, () -> changeEvents.findChanges(1, 10));
+        Assertions.assertEquals(1, changeEvents.findChanges(2, 10).getChanges().size());
+    }
+
+    @Test
+    public void feedShouldContinueAfterOldCursorWhenEveryEventWasPurged() {
+        productService.delete(24L);
+        productService.delete(25L);
+        dispatcher.dispatchPending();
+        long cursor = changeEvents.findChanges(0, 10).getNext();
+
+        Assertions.assertEquals(2, dispatcher.purgeDispatched());
+        Assertions.assertEquals(0, repository.count());
+        Assertions.assertTrue(changeEvents.findChanges(cursor, 10).getChanges().isEmpty());
+
+        productService.delete(23L);
+        dispatcher.dispatchPending();
+
+        ChangeFeedDTO feed = changeEvents.findChanges(cursor, 10);
+        Assertions.assertEquals(List.of(3L), feed.getChanges().stream().map(ChangeEventDTO::getPosition).toList());
+        assertEvent(feed.getChanges().get(0), EntityType.PRODUCT, 23L, Operation.DELETED);
+        Assertions.assertThrows(ChangesExpiredException.class, () -> changeEvents.findChanges(cursor - 1, 10));
+    }
+
+    @Test
+    public void feedShouldThrowChangesExpiredExceptionWhenCursorWasNeverIssued() {
+        productService.delete(25L);
+        dispatcher.dispatchPending();
+
+        Assertions.assertEquals(1, changeEvents.findChanges(0, 10).getChanges().size());
+        Assertions.assertTrue(changeEvents.findChanges(1, 10).getChanges().isEmpty());
+        Assertions.assertThrows(ChangesExpiredException.class, () -> changeEvents.findChanges(2, 10));
+
+        dispatcher.purgeDispatched();
+
+        Assertions.assertThrows(ChangesExpiredException.class, () -> changeEvents.findChanges(5000, 10));
+    }
+
+    private static void assertEvent(ChangeEventDTO event, EntityType type, Long id, Operation operation) {
+        Assertions.assertEquals(type, event.getEntityType());
+        Assertions.assertEquals(id, event.getEntityId());
+        Assertions.assertEquals(operation, event.getOperation());
+    }
+}
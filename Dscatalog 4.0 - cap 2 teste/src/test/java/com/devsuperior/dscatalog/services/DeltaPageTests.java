@@ -0,0 +1,72 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.Tombstone;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+public class DeltaPageTests {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    public void mergeShouldInterleaveLiveRowsAndTombstonesByPosition() {
+        List<DeltaCursor> live = List.of(at(1, 5L), at(3, 2L), at(3, 9L));
+        List<Tombstone> deleted = List.of(tombstone(2, 7L), tombstone(3, 4L));
+
+        DeltaPage<DeltaCursor> page = DeltaPage.merge(at(0, 0L), live, x -> x, deleted, 10);
+
+        Assertions.assertEquals(3, page.live().size());
+        Assertions.assertEquals(List.of(7L, 4L), page.deleted());
+        Assertions.assertEquals(9L, page.next().getId());
+        Assertions.assertFalse(page.hasMore());
+    }
+
+    @Test
+    public void mergeShouldStopAtSizeAndPointNextAtLastDeliveredItem() {
+        List<DeltaCursor> live = List.of(at(1, 5L), at(3, 2L));
+        List<Tombstone> deleted = List.of(tombstone(2, 7L));
+
+        DeltaPage<DeltaCursor> page = DeltaPage.merge(at(0, 0L), live, x -> x, deleted, 2);
+
+        Assertions.assertEquals(1, page.live().size());
+        Assertions.assertEquals(List.of(7L), page.deleted());
+        Assertions.assertEquals(T0.plusSeconds(2), page.next().getModifiedAt());
+        Assertions.assertEquals(7L, page.next().getId());
+        Assertions.assertTrue(page.hasMore());
+    }
+
+    @Test
+    public void mergeShouldKeepCursorWhenNothingChanged() {
+        DeltaCursor from = at(4, 11L);
+
+        DeltaPage<DeltaCursor> page = DeltaPage.merge(from, List.of(), x -> x, List.of(), 10);
+
+        Assertions.assertSame(from, page.next());
+        Assertions.assertFalse(page.hasMore());
+    }
+
+    @Test
+    public void cursorShouldRoundTripThroughToken() {
+        DeltaCursor cursor = new DeltaCursor(Instant.parse("2024-05-06T07:08:09.123456Z"), 42L);
+
+        DeltaCursor decoded = DeltaCursor.decode(cursor.encode());
+
+        Assertions.assertEquals(cursor.getModifiedAt(), decoded.getModifiedAt());
+        Assertions.assertEquals(42L, decoded.getId());
+    }
+
+    private static DeltaCursor at(int seconds, Long id) {
+        return new DeltaCursor(T0.plusSeconds(seconds), id);
+    }
+
+    private static Tombstone tombstone(int seconds, Long id) {
+        Tombstone tombstone = new Tombstone(EntityType.PRODUCT, id);
+        ReflectionTestUtils.setField(tombstone, "deletedAt", T0.plusSeconds(seconds));
+        return tombstone;
+    }
+}
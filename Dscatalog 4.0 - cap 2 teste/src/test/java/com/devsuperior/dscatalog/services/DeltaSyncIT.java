@@ -0,0 +1,160 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.DeltaDTO;
+import com.devsuperior.dscatalog.dto.PriceAdjustmentDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.ChangesExpiredException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Sem @Transactional: updatedAt e os tombstones precisam estar commitados. settle-time=0s para o delta
+// enxergar as escritas do próprio teste
+@SpringBootTest(properties = {"dscatalog.scheduling.enabled=false", "dscatalog.delta.settle-time=0s"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class DeltaSyncIT {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void deltaShouldReturnUpdatedProductsAndDeletedIds() throws Exception {
+        Instant since = now();
+        ProductDTO product = productService.findById(1L);
+        product.setPrice(product.getPrice() + 1.0);
+        productService.update(1L, product);
+        productService.update(2L, productService.findById(2L));   // sem alteração: updatedAt não muda
+        productService.delete(25L);
+        productService.deleteAll(List.of(23L, 24L));
+        Thread.sleep(2);
+
+        DeltaDTO<ProductDTO> delta = productService.findModifiedSince(since, null, 100);
+
+        Assertions.assertEquals(List.of(1L), delta.getChanged().stream().map(ProductDTO::getId).toList());
+        Assertions.assertFalse(delta.getChanged().get(0).getCategories().isEmpty());
+        Assertions.assertEquals(Set.of(23L, 24L, 25L), new HashSet<>(delta.getDeleted()));
+        Assertions.assertFalse(delta.isHasMore());
+
+        DeltaDTO<ProductDTO> empty = productService.findModifiedSince(since, delta.getNext(), 100);
+        Assertions.assertTrue(empty.getChanged().isEmpty());
+        Assertions.assertTrue(empty.getDeleted().isEmpty());
+        Assertions.assertEquals(delta.getNext(), empty.getNext());
+    }
+
+    @Test
+    public void cursorPagingShouldVisitEachSeededProductOnce() throws Exception {
+        Thread.sleep(2);
+        Instant since = now().minus(1, ChronoUnit.HOURS);
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        DeltaDTO<ProductDTO> delta;
+        do {
+            delta = productService.findModifiedSince(since, cursor, 10);
+            delta.getChanged().forEach(x -> seen.add(x.getId()));
+            cursor = delta.getNext();
+        } while (delta.isHasMore());
+
+        Assertions.assertEquals(25, seen.size());
+        Assertions.assertEquals(25, new HashSet<>(seen).size());
+    }
+
+    @Test
+    public void bulkPriceAdjustmentShouldBumpUpdatedAt() throws Exception {
+        Instant since = now();
+        productService.adjustPrices(new PriceAdjustmentDTO(1L, 10.0));
+        Thread.sleep(2);
+
+        DeltaDTO<ProductDTO> delta = productService.findModifiedSince(since, null, 100);
+
+        Assertions.assertFalse(delta.getChanged().isEmpty());
+        Assertions.assertTrue(delta.getChanged().stream().allMatch(x -> x.getCategories().stream().anyMatch(c -> c.getId() == 1L)));
+    }
+
+    @Test
+    public void categoryDeltaShouldReturnInsertedAndDeletedCategories() throws Exception {
+        Instant since = now();
+        CategoryDTO inserted = categoryService.insert(new CategoryDTO(null, "Games"));
+        CategoryDTO removed = categoryService.insert(new CategoryDTO(null, "Temporária"));
+        categoryService.delete(removed.getId());
+        Thread.sleep(2);
+
+        DeltaDTO<CategoryDTO> delta = categoryService.findModifiedSince(since, null, 100);
+
+        Assertions.assertEquals(List.of(inserted.getId()), delta.getChanged().stream().map(CategoryDTO::getId).toList());
+        Assertions.assertEquals(List.of(removed.getId()), delta.getDeleted());
+    }
+
+    @Test
+    public void deltaShouldThrowGoneWhenModifiedSinceIsOlderThanRetention() {
+        Assertions.assertThrows(ChangesExpiredException.class, () -> {
+            productService.findModifiedSince(Instant.parse("2000-01-01T00:00:00Z"), null, 100);
+        });
+    }
+
+    // A escrita na fila da trava de tb_catalog_version só carimba updatedAt depois de consegui-la; carimbado
+    // antes, o commit poderia chegar depois do settle-time e o produto escaparia de um cursor já entregue
+    @Test
+    public void writeQueuedOnCatalogVersionShouldStampUpdatedAtAfterAcquiringIt() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Instant[] released = new Instant[1];
+        try {
+            Future<ProductDTO> queued = transaction.execute(status -> {
+                categoryService.update(1L, categoryService.findById(1L));   // segura a trava até o commit
+                Future<ProductDTO> write = executor.submit(() -> {
+                    ProductDTO product = productService.findById(1L);
+                    product.setPrice(product.getPrice() + 1.0);
+                    return productService.update(1L, product);
+                });
+                sleepUninterruptibly(300);
+                released[0] = now();
+                return write;
+            });
+            queued.get(10, TimeUnit.SECONDS);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        Instant updatedAt = productRepository.findById(1L).orElseThrow().getUpdatedAt();
+        Assertions.assertFalse(updatedAt.isBefore(released[0]), updatedAt + " < " + released[0]);
+    }
+
+    private static void sleepUninterruptibly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
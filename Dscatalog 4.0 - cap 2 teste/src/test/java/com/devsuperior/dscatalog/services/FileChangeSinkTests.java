@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+import com.devsuperior.dscatalog.entities.ChangeEvent;
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.ChangeEvent.Operation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+public class FileChangeSinkTests {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void publishShouldAppendOneJsonLinePerEvent() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Path file = dir.resolve("changes.ndjson");
+        FileChangeSink sink = new FileChangeSink();
+        ReflectionTestUtils.setField(sink, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(sink, "file", file);
+
+        sink.publish(List.of(event(1L, 10L, Operation.UPDATED)));
+        sink.publish(List.of(event(2L, 11L, Operation.DELETED), event(3L, 12L, Operation.CREATED)));
+
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertEquals(3, lines.size());
+        JsonNode last = objectMapper.readTree(lines.get(2));
+        Assertions.assertEquals(3, last.get("position").asLong());
+        Assertions.assertEquals("CREATED", last.get("operation").asText());
+    }
+
+    private static ChangeEventDTO event(Long position, Long productId, Operation operation) {
+        ChangeEvent entity = new ChangeEvent(EntityType.PRODUCT, productId, operation);
+        entity.markDispatched(position, Instant.now());
+        return new ChangeEventDTO(entity);
+    }
+}
@@ -0,0 +1,118 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Teste manual (não roda no mvn test), com heap pequeno e fixo:
+// mvn test -Dtest=ProductExportIT -DargLine="-Xms96m -Xmx96m" -Dexport.rows=1000000
+// O H2 fica em arquivo com execução lazy, para que o banco não ocupe o heap da JVM de teste.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/exportdb;LAZY_QUERY_EXECUTION=1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+public class ProductExportIT {
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int rows;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rows = Integer.getInteger("export.rows", 1_000_000);
+        long existing = repository.count();
+        if (existing < rows) {
+            generateCatalog((int) existing, rows);
+        }
+    }
+
+    @Test
+    public void exportAllShouldStreamWholeCatalogInConstantMemory() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        long start = System.nanoTime();
+
+        long exported = exportService.exportAll(ProductExportService.NDJSON, out);
+
+        long elapsed = System.nanoTime() - start;
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        System.out.printf("rows=%d bytes=%d time=%.1f s maxHeap=%d MB peakHeap=%d MB%n", exported, out.bytes,
+                elapsed / 1e9, maxHeap / (1024 * 1024), peakHeapUsed() / (1024 * 1024));
+
+        Assertions.assertEquals(rows, exported);
+        Assertions.assertEquals(rows, out.lines);
+    }
+
+    private long peakHeapUsed() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private void generateCatalog(int from, int to) {
+        String sql = "INSERT INTO tb_product (name, price, date, description, img_url) VALUES (?, ?, ?, ?, ?)";
+        Timestamp date = Timestamp.from(Instant.parse("2020-07-13T20:50:07Z"));
+        String description = "Lorem ipsum dolor sit amet. ".repeat(10);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            batch.add(new Object[] { String.format("Product %07d", i), 10.0 + i % 1000, date, description, "" });
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        jdbcTemplate.update("INSERT INTO tb_product_category (product_id, category_id) "
+                + "SELECT id, MOD(id, 3) + 1 FROM tb_product WHERE id > 25");
+    }
+
+    // Descarta a saída, contando só bytes e linhas
+    private static class CountingOutputStream extends OutputStream {
+        long bytes;
+        long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Banco próprio: o teste cria produtos para o export ter mais de um lote de categorias
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exportsnapshot",
+        "dscatalog.scheduling.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@DirtiesContext
+public class ProductExportSnapshotIT {
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void exportAllShouldNotSeeWritesCommittedAfterItStarted() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            rows.add(new Object[] { "Snapshot " + i });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_product (name, price, description, img_url) VALUES (?, 1.0, '', '')", rows);
+        jdbcTemplate.update("INSERT INTO tb_product_category (product_id, category_id) SELECT id, 1 FROM tb_product WHERE id > 25");
+        long lastId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tb_product", Long.class);
+
+        // Na primeira escrita (primeiro lote já lido) outra transação muda o último produto, que está no segundo lote
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            private boolean changed;
+
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                if (!changed) {
+                    changed = true;
+                    CompletableFuture.runAsync(() -> {
+                        jdbcTemplate.update("UPDATE tb_product SET name = 'Alterado' WHERE id = ?", lastId);
+                        jdbcTemplate.update("UPDATE tb_product_category SET category_id = 2 WHERE product_id = ?", lastId);
+                    }).join();
+                }
+                super.write(b, off, len);
+            }
+        };
+
+        long exported = exportService.exportAll(ProductExportService.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        ProductDTO last = objectMapper.readValue(lines[lines.length - 1], ProductDTO.class);
+        Assertions.assertEquals(625, exported);
+        Assertions.assertEquals(lastId, last.getId());
+        Assertions.assertEquals("Snapshot 599", last.getName());
+        Assertions.assertEquals(1L, last.getCategories().get(0).getId());
+        Assertions.assertEquals("Alterado", jdbcTemplate.queryForObject("SELECT name FROM tb_product WHERE id = ?", String.class, lastId));
+    }
+}
@@ -0,0 +1,115 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFacetsDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.factory.ProductFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Sem @Transactional: as facetas em memória só são invalidadas após o commit
+@SpringBootTest(properties = "dscatalog.catalog-version.refresh-interval=100ms")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ProductFacetIT {
+
+    private static final int WRITERS = 8;
+    private static final int INSERTS_PER_WRITER = 15;
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private ProductFacetService facetService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void findFacetsShouldMatchDatabaseAfterConcurrentWrites() throws Exception {
+        long before = countOf(facetService.findFacets(new ProductFilterDTO()), 1L);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            // Leitor concorrente: força recálculos intercalados com os commits
+            Future<?> reader = executor.submit(() -> {
+                while (writing.get()) {
+                    facetService.findFacets(new ProductFilterDTO());
+                }
+            });
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < INSERTS_PER_WRITER; i++) {
+                        ProductDTO dto = ProductFactory.createProductDTO();
+                        dto.setId(null);
+                        dto.getCategories().clear();
+                        dto.getCategories().add(new CategoryDTO(1L, null));
+                        ProductDTO inserted = service.insert(dto);
+                        if (i % 3 == 0) {
+                            service.delete(inserted.getId());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            reader.get();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        long kept = WRITERS * (INSERTS_PER_WRITER - INSERTS_PER_WRITER / 3);
+        Assertions.assertEquals(before + kept, countOf(facetService.findFacets(new ProductFilterDTO()), 1L));
+    }
+
+    @Test
+    public void findFacetsShouldReflectCategoryRename() {
+        facetService.findFacets(new ProductFilterDTO());
+
+        categoryService.update(1L, new CategoryDTO(1L, "Livros e Revistas"));
+
+        List<CategoryFacetDTO> categories = facetService.findFacets(new ProductFilterDTO()).getCategories();
+        Assertions.assertTrue(categories.stream().anyMatch(c -> c.getName().equals("Livros e Revistas")));
+    }
+
+    // Escrita de outra instância: vai direto ao banco e só avança tb_catalog_version, sem passar por este processo
+    @Test
+    public void findFacetsShouldReflectWriteOfAnotherInstanceAfterCatalogVersionRefresh() throws Exception {
+        long before = countOf(facetService.findFacets(new ProductFilterDTO()), 1L);
+        jdbcTemplate.update("INSERT INTO tb_product_category (product_id, category_id) SELECT id, 1 FROM tb_product "
+                + "WHERE id NOT IN (SELECT product_id FROM tb_product_category WHERE category_id = 1)");
+        long products = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product", Long.class);
+        Thread.sleep(200);
+
+        Assertions.assertEquals(before, countOf(facetService.findFacets(new ProductFilterDTO()), 1L));
+
+        jdbcTemplate.update("UPDATE tb_catalog_version SET version = version + 1 WHERE id = 1");
+        Thread.sleep(200);
+
+        Assertions.assertEquals(products, countOf(facetService.findFacets(new ProductFilterDTO()), 1L));
+    }
+
+    private long countOf(ProductFacetsDTO facets, Long categoryId) {
+        return facets.getCategories().stream().filter(c -> c.getId().equals(categoryId))
+                .mapToLong(CategoryFacetDTO::getCount).findFirst().orElse(0L);
+    }
+}
@@ -0,0 +1,66 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.PriceRangeFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductFacetsDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class ProductFacetServiceTests {
+
+    @InjectMocks
+    private ProductFacetService service;
+
+    @Mock
+    private ProductRepository repository;
+
+    @Mock
+    private CatalogVersionService catalogVersion;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(repository.countByCategory(any())).thenReturn(List.of(new CategoryFacetDTO(3L, "Computadores", 24L)));
+        when(repository.countByPriceRange(any(), any())).thenReturn(List.of(new PriceRangeFacetDTO(0.0, 100.0, 2L)));
+    }
+
+    @Test
+    public void findFacetsShouldReuseUnfilteredFacetsUntilCatalogVersionAdvances() {
+        when(catalogVersion.current()).thenReturn(5L, 5L, 6L);
+
+        ProductFacetsDTO first = service.findFacets(new ProductFilterDTO());
+        ProductFacetsDTO second = service.findFacets(new ProductFilterDTO());
+
+        Assertions.assertSame(first, second);
+        verify(repository, times(1)).countByCategory(any());
+
+        ProductFacetsDTO third = service.findFacets(new ProductFilterDTO());
+
+        Assertions.assertNotSame(first, third);
+        verify(repository, times(2)).countByCategory(any());
+    }
+
+    @Test
+    public void findFacetsShouldAlwaysQueryWhenFilterIsPresent() {
+        ProductFilterDTO filter = new ProductFilterDTO(3L, null, null, null);
+
+        service.findFacets(filter);
+        ProductFacetsDTO result = service.findFacets(filter);
+
+        Assertions.assertEquals(24L, result.getCategories().get(0).getCount());
+        verify(repository, times(2)).countByCategory(any());
+        verify(repository, times(2)).countByPriceRange(any(), any());
+    }
+}
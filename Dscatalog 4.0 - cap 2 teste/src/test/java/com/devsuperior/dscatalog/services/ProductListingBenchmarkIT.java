@@ -0,0 +1,116 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Benchmark manual (não roda no mvn test): mvn test -Dtest=ProductListingBenchmarkIT
+// Compara a listagem antiga (entidades + categorias) com a listagem por projeção em uma página grande
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listingbenchmark",
+        "spring.jpa.show-sql=false"
+})
+public class ProductListingBenchmarkIT {
+
+    private static final int ROWS = 20_000;
+    private static final int PAGE_SIZE = 2_000;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        long existing = repository.count();
+        if (existing < ROWS) {
+            generateCatalog((int) existing, ROWS);
+        }
+    }
+
+    @Test
+    public void projectionListingShouldAllocateLessThanEntityListing() {
+        PageRequest pageRequest = PageRequest.of(1, PAGE_SIZE);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long[] entity = measure(() -> readOnly.execute(status -> {
+            Page<Product> list = repository.findAll(pageRequest);
+            repository.findProductsWithCategories(list.getContent());
+            return list.map(x -> new ProductDTO(x, x.getCategories()));
+        }));
+        long[] projection = measure(() -> service.findAllPaged(pageRequest, false));
+        long[] projectionWithDescription = measure(() -> service.findAllPaged(pageRequest, true));
+
+        System.out.printf("rows=%d pageSize=%d%n", ROWS, PAGE_SIZE);
+        print("entities + DTO", entity);
+        print("projection", projection);
+        print("projection + description", projectionWithDescription);
+
+        Assertions.assertTrue(projection[1] < entity[1]);
+    }
+
+    private void print(String label, long[] result) {
+        System.out.printf("%-26s %8.3f ms %10.1f KB/op%n", label, result[0] / 1e6, result[1] / 1024.0);
+    }
+
+    // Retorna {mediana da latência em ns, mediana de bytes alocados pela thread}
+    private long[] measure(Supplier<Page<ProductDTO>> listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 5; i++) {
+            listing.get();
+        }
+        long[] times = new long[ROUNDS];
+        long[] bytes = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long allocated = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            listing.get();
+            times[i] = System.nanoTime() - start;
+            bytes[i] = threads.getThreadAllocatedBytes(threadId) - allocated;
+        }
+        Arrays.sort(times);
+        Arrays.sort(bytes);
+        return new long[] { times[ROUNDS / 2], bytes[ROUNDS / 2] };
+    }
+
+    private void generateCatalog(int from, int to) {
+        String sql = "INSERT INTO tb_product (name, price, date, description, img_url) VALUES (?, ?, ?, ?, ?)";
+        Timestamp date = Timestamp.from(Instant.parse("2020-07-13T20:50:07Z"));
+        String description = "Lorem ipsum dolor sit amet. ".repeat(80);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            batch.add(new Object[] { String.format("Product %07d", i), 10.0 + i % 1000, date, description, "" });
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+        jdbcTemplate.update("INSERT INTO tb_product_category (product_id, category_id) "
+                + "SELECT id, MOD(id, 3) + 1 FROM tb_product WHERE id > 25");
+    }
+}
@@ -0,0 +1,101 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Benchmark manual (não roda no mvn test): mvn test -Dtest=ProductPaginationBenchmarkIT -Dbenchmark.rows=1000000
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:paginationbenchmark",
+        "spring.jpa.show-sql=false"
+})
+public class ProductPaginationBenchmarkIT {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int rows;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rows = Integer.getInteger("benchmark.rows", 1_000_000);
+        long existing = repository.count();
+        if (existing < rows) {
+            generateCatalog((int) existing, rows);
+        }
+    }
+
+    @Test
+    public void keysetPaginationShouldKeepDeepPagesAsFastAsFirstPage() {
+        int deepPage = Math.min(10_000, rows / PAGE_SIZE - 1);
+        PageRequest first = PageRequest.of(0, PAGE_SIZE, Sort.by("name", "id"));
+        PageRequest deep = PageRequest.of(deepPage, PAGE_SIZE, Sort.by("name", "id"));
+
+        // O cursor da página profunda é a última linha da página anterior
+        Product cursor = repository.findAll(PageRequest.of(deepPage - 1, PAGE_SIZE, Sort.by("name", "id")))
+                .getContent().get(PAGE_SIZE - 1);
+
+        long offsetFirst = measure(() -> repository.findAll(first).getContent());
+        long offsetDeep = measure(() -> repository.findAll(deep).getContent());
+        long keysetFirst = measure(() -> repository.findFirstSeek(PageRequest.of(0, PAGE_SIZE)));
+        long keysetDeep = measure(() -> repository.findSeekAfter(cursor.getName(), cursor.getId(), PageRequest.of(0, PAGE_SIZE)));
+
+        System.out.printf("rows=%d pageSize=%d deepPage=%d%n", rows, PAGE_SIZE, deepPage);
+        System.out.printf("offset  page 1: %8.3f ms | page %d: %8.3f ms%n", offsetFirst / 1e6, deepPage + 1, offsetDeep / 1e6);
+        System.out.printf("keyset  page 1: %8.3f ms | page %d: %8.3f ms%n", keysetFirst / 1e6, deepPage + 1, keysetDeep / 1e6);
+
+        Assertions.assertEquals(repository.findAll(deep).getContent(),
+                repository.findSeekAfter(cursor.getName(), cursor.getId(), PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    // Mediana de ROUNDS execuções, após aquecimento
+    private long measure(Supplier<List<?>> query) {
+        for (int i = 0; i < 5; i++) {
+            query.get();
+        }
+        long[] samples = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ROUNDS / 2];
+    }
+
+    private void generateCatalog(int from, int to) {
+        String sql = "INSERT INTO tb_product (name, price, date, description, img_url) VALUES (?, ?, ?, ?, ?)";
+        Timestamp date = Timestamp.from(Instant.parse("2020-07-13T20:50:07Z"));
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            batch.add(new Object[] { String.format("Product %07d", i), 10.0 + i % 1000, date, "Generated product", "" });
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.repositories.SqlRecorder;
+import com.devsuperior.dscatalog.services.exceptions.InvalidDataException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Confere o SQL emitido: PATCH só grava as colunas enviadas e só os vínculos de categoria que mudaram
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.devsuperior.dscatalog.repositories.SqlRecorder",
+        "dscatalog.scheduling.enabled=false"
+})
+@Transactional
+public class ProductPatchIT {
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long existingId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        existingId = 2L;    // Smart TV, categorias 1 e 3
+        SqlRecorder.clear();
+    }
+
+    @Test
+    public void patchShouldUpdateOnlySuppliedColumnsAndKeepCategoryLinks() throws Exception {
+        ProductDTO result = service.patch(existingId, objectMapper.readTree("{\"price\": 1999.0}"), null);
+
+        Assertions.assertEquals(1999.0, result.getPrice());
+        Assertions.assertEquals("Smart TV", result.getName());
+        Assertions.assertNotNull(result.getDescription());
+        List<String> writes = writes();
+        Assertions.assertEquals(1, writes.size());
+        Assertions.assertEquals("update tb_product set price=?,updated_at=?,version=? where id=? and version=?", writes.get(0));
+        Assertions.assertTrue(SqlRecorder.statements().stream().noneMatch(sql -> sql.contains("tb_product_category")));
+    }
+
+    @Test
+    public void patchShouldClearFieldWhenValueIsNull() throws Exception {
+        ProductDTO result = service.patch(existingId, objectMapper.readTree("{\"imgUrl\": null}"), null);
+
+        Assertions.assertNull(result.getImgUrl());
+        Assertions.assertEquals("update tb_product set img_url=?,updated_at=?,version=? where id=? and version=?", writes().get(0));
+    }
+
+    @Test
+    public void patchShouldInsertAndDeleteOnlyChangedCategoryLinks() throws Exception {
+        service.patch(existingId, objectMapper.readTree("{\"categories\": [{\"id\": 3}, {\"id\": 2}]}"), null);
+
+        List<String> links = writes().stream().filter(sql -> sql.contains("tb_product_category")).toList();
+        Assertions.assertEquals(2, links.size());
+        Assertions.assertTrue(links.stream().anyMatch(sql -> sql.startsWith("delete from tb_product_category")));
+        Assertions.assertTrue(links.stream().anyMatch(sql -> sql.startsWith("insert into tb_product_category")));
+        List<Long> categoryIds = service.findById(existingId).getCategories().stream().map(CategoryDTO::getId).sorted().toList();
+        Assertions.assertEquals(List.of(2L, 3L), categoryIds);
+    }
+
+    @Test
+    public void updateShouldNotTouchCategoryLinksWhenCategoriesAreUnchanged() {
+        ProductDTO dto = service.findById(existingId);
+        dto.setPrice(1999.0);
+        SqlRecorder.clear();
+
+        service.update(existingId, dto);
+
+        Assertions.assertEquals(List.of("update tb_product set price=?,updated_at=?,version=? where id=? and version=?"), writes());
+    }
+
+    @Test
+    public void patchShouldThrowInvalidDataExceptionWhenPatchIsNotAnObject() throws Exception {
+        Assertions.assertThrows(InvalidDataException.class, () -> {
+            service.patch(existingId, objectMapper.readTree("[1, 2]"), null);
+        });
+    }
+
+    // Escritas no produto e nos vínculos; a versão do catálogo e o outbox acompanham toda escrita
+    private List<String> writes() {
+        return SqlRecorder.statements().stream().filter(sql -> !sql.startsWith("select")
+                && !sql.contains("tb_catalog_version") && !sql.contains("tb_change_event")
+                && !sql.contains("tb_tombstone")).toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.devsuperior.dscatalog.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Benchmark manual (não roda no mvn test): mvn test -Dtest=ProductSearchBenchmarkIT
+// Latência do índice em memória com 1 milhão de produtos de vocabulário realista
+public class ProductSearchBenchmarkIT {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int ROUNDS = 200;
+
+    private static final String[] KINDS = { "notebook", "smartphone", "monitor", "teclado", "mouse", "cadeira",
+            "geladeira", "fogão", "livro", "camiseta", "tênis", "relógio", "fone", "câmera", "impressora" };
+    private static final String[] BRANDS = { "acme", "globex", "initech", "umbrella", "stark", "wayne", "tyrell",
+            "cyberdyne", "hooli", "soylent", "wonka", "oscorp" };
+    private static final String[] ADJECTIVES = { "gamer", "profissional", "compacto", "sem fio", "premium", "básico",
+            "portátil", "inteligente", "ergonômico", "silencioso", "resistente", "leve" };
+
+    private static ProductSearchIndex index;
+
+    @BeforeAll
+    static void setUp() {
+        Random random = new Random(42);
+        index = new ProductSearchIndex();
+        long start = System.nanoTime();
+        for (long id = 1; id <= PRODUCTS; id++) {
+            String name = pick(random, KINDS) + " " + pick(random, BRANDS) + " " + pick(random, ADJECTIVES)
+                    + " modelo " + Long.toString(id % 50_000, 36);
+            String description = pick(random, KINDS) + " " + pick(random, ADJECTIVES) + " da linha "
+                    + pick(random, BRANDS) + " com garantia de " + (1 + random.nextInt(5)) + " anos e "
+                    + pick(random, ADJECTIVES) + " acabamento";
+            index.index(id, name, description);
+        }
+        System.out.printf("indexed %d products in %.1f s%n", PRODUCTS, (System.nanoTime() - start) / 1e9);
+    }
+
+    @Test
+    public void searchShouldAnswerInSingleDigitMillisecondsOnOneMillionProducts() {
+        String[] queries = { "notebook gamer", "acme", "monitor stark premium", "modelo abc", "fone sem fio",
+                "cadeira ergonomico wayne", "tenis leve", "impressora" };
+        double worstMedian = 0;
+        for (String query : queries) {
+            long[] times = new long[ROUNDS];
+            long total = 0;
+            for (int i = 0; i < ROUNDS + 20; i++) {
+                long start = System.nanoTime();
+                total = index.search(query, 0, 20).total();
+                if (i >= 20) {
+                    times[i - 20] = System.nanoTime() - start;
+                }
+            }
+            Arrays.sort(times);
+            double median = times[ROUNDS / 2] / 1e6;
+            worstMedian = Math.max(worstMedian, median);
+            System.out.printf("%-28s hits=%7d p50=%6.3f ms p99=%6.3f ms%n", query, total, median,
+                    times[ROUNDS * 99 / 100] / 1e6);
+        }
+        Assertions.assertTrue(worstMedian < 10.0);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
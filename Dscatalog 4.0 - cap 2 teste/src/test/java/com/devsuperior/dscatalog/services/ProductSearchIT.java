@@ -0,0 +1,57 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.factory.ProductFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+// Sem @Transactional: o índice de busca só é atualizado após o commit
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ProductSearchIT {
+
+    @Autowired
+    private ProductService service;
+
+    @Test
+    public void searchShouldFindProductsLoadedAtStartup() {
+        Page<ProductDTO> result = service.search("macbook", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(1, result.getTotalElements());
+        Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
+        Assertions.assertFalse(result.getContent().get(0).getCategories().isEmpty());
+    }
+
+    @Test
+    public void searchShouldReflectInsertUpdateAndDelete() {
+        ProductDTO dto = ProductFactory.createProductDTO();
+        dto.setId(null);
+        dto.setName("Cafeteira expresso");
+        dto = service.insert(dto);
+        Assertions.assertEquals(1, service.search("cafeteira", PageRequest.of(0, 10)).getTotalElements());
+
+        dto.setName("Chaleira elétrica");
+        service.update(dto.getId(), dto);
+        Assertions.assertEquals(0, service.search("cafeteira", PageRequest.of(0, 10)).getTotalElements());
+        Assertions.assertEquals(1, service.search("chaleira eletrica", PageRequest.of(0, 10)).getTotalElements());
+
+        service.delete(dto.getId());
+        Assertions.assertEquals(0, service.search("chaleira", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    public void searchShouldFindProductsImportedInBatch() throws Exception {
+        String body = "[{\"name\": \"Liquidificador turbo\", \"price\": 150.0, \"categories\": [{\"id\": 1}]}]";
+        service.insertAll(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(1, service.search("liquidificador", PageRequest.of(0, 10)).getTotalElements());
+    }
+}
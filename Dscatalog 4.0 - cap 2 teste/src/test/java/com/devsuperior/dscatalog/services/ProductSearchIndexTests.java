@@ -0,0 +1,107 @@
+package com.devsuperior.dscatalog.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new ProductSearchIndex();
+        index.index(1L, "Smart TV", "Televisão 4K com controle remoto");
+        index.index(2L, "Controle remoto universal", "Funciona com qualquer TV");
+        index.index(3L, "Macbook Pro", "Notebook da Apple");
+        index.index(4L, "PC Gamer", "Computador com placa de vídeo dedicada");
+    }
+
+    @Test
+    public void searchShouldRankNameMatchesAboveDescriptionMatches() {
+        ProductSearchIndex.Hits hits = index.search("controle remoto", 0, 10);
+
+        Assertions.assertEquals(2, hits.total());
+        Assertions.assertEquals(List.of(2L, 1L), hits.ids());
+    }
+
+    @Test
+    public void searchShouldIgnoreCaseAndAccents() {
+        Assertions.assertEquals(List.of(1L), index.search("TELEVISAO", 0, 10).ids());
+        Assertions.assertEquals(List.of(4L), index.search("vídeo", 0, 10).ids());
+    }
+
+    @Test
+    public void searchShouldRequireAllTerms() {
+        Assertions.assertEquals(List.of(1L), index.search("tv 4k", 0, 10).ids());
+        Assertions.assertEquals(0, index.search("tv apple", 0, 10).total());
+        Assertions.assertEquals(0, index.search("inexistente", 0, 10).total());
+        Assertions.assertEquals(0, index.search("  ", 0, 10).total());
+    }
+
+    @Test
+    public void searchShouldReturnRequestedPageAndTotal() {
+        ProductSearchIndex.Hits firstPage = index.search("tv", 0, 1);
+        ProductSearchIndex.Hits secondPage = index.search("tv", 1, 1);
+
+        Assertions.assertEquals(2, firstPage.total());
+        Assertions.assertEquals(List.of(1L), firstPage.ids());
+        Assertions.assertEquals(List.of(2L), secondPage.ids());
+        Assertions.assertTrue(index.search("tv", 2, 1).ids().isEmpty());
+    }
+
+    @Test
+    public void indexShouldReplacePreviousVersionOfProduct() {
+        index.index(3L, "Macbook Air", "Notebook leve");
+
+        Assertions.assertEquals(0, index.search("pro", 0, 10).total());
+        Assertions.assertEquals(List.of(3L), index.search("air", 0, 10).ids());
+        Assertions.assertEquals(4, index.size());
+    }
+
+    @Test
+    public void indexIfAbsentShouldKeepNewerVersion() {
+        index.indexIfAbsent(3L, "Macbook Pro antigo", "");
+
+        Assertions.assertEquals(0, index.search("antigo", 0, 10).total());
+    }
+
+    @Test
+    public void indexIfAbsentShouldSkipProductRemovedDuringLoad() {
+        ProductSearchIndex loading = new ProductSearchIndex();
+        loading.beginLoad();
+        loading.remove(5L);   // DELETE commitado depois de a carga ler a linha
+        loading.indexIfAbsent(5L, "Smart TV", "Televisão");
+        loading.indexIfAbsent(6L, "Smart TV", "Televisão");
+        loading.endLoad();
+
+        ProductSearchIndex.Hits hits = loading.search("tv", 0, 10);
+        Assertions.assertEquals(1, hits.total());
+        Assertions.assertEquals(List.of(6L), hits.ids());
+        Assertions.assertEquals(1, loading.size());
+    }
+
+    @Test
+    public void removeShouldHideProductFromSearch() {
+        index.remove(1L);
+
+        Assertions.assertEquals(List.of(2L), index.search("tv", 0, 10).ids());
+        Assertions.assertEquals(3, index.size());
+    }
+
+    @Test
+    public void compactionShouldKeepLiveProductsSearchable() {
+        for (long id = 100; id < 20_100; id++) {
+            index.index(id, "Produto temporário " + id, "");
+        }
+        for (long id = 100; id < 20_100; id++) {
+            index.remove(id);
+        }
+
+        Assertions.assertEquals(4, index.size());
+        Assertions.assertEquals(0, index.search("temporario", 0, 10).total());
+        Assertions.assertEquals(List.of(2L, 1L), index.search("controle remoto", 0, 10).ids());
+    }
+}
@@ -0,0 +1,101 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.mockito.Mockito.*;
+
+// Sem @Transactional: as invalidações do cache só acontecem após o commit
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ProductServiceCacheIT {
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @SpyBean
+    private ProductRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private long existingId;
+    private long existingCategoryId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        existingId = 1L;
+        existingCategoryId = 2L;
+    }
+
+    @Test
+    public void findByIdShouldHitDatabaseOnlyOnceWhenCalledRepeatedly() {
+        service.findById(existingId);
+        service.findById(existingId);
+        service.findById(existingId);
+
+        verify(repository, times(1)).findById(existingId);
+        CacheStats stats = productsStats();
+        Assertions.assertEquals(2, stats.hitCount());
+        Assertions.assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    public void updateShouldEvictCachedProduct() {
+        ProductDTO dto = service.findById(existingId);
+        dto.setName("Updated name");
+
+        service.update(existingId, dto);
+        ProductDTO result = service.findById(existingId);
+
+        Assertions.assertEquals("Updated name", result.getName());
+        verify(repository, times(2)).findById(existingId);
+    }
+
+    @Test
+    public void deleteShouldEvictCachedProduct() {
+        service.findById(25L);
+
+        service.delete(25L);
+
+        Assertions.assertNull(productsCache().get(25L));
+    }
+
+    @Test
+    public void categoryUpdateShouldEvictOnlyProductsOfThatCategory() {
+        service.findById(existingId);   // categoria 2
+        service.findById(2L);           // categoria 1
+
+        categoryService.update(existingCategoryId, new CategoryDTO(existingCategoryId, "Eletrônicos e Games"));
+
+        Assertions.assertNull(productsCache().get(existingId));
+        Assertions.assertNotNull(productsCache().get(2L));
+        Assertions.assertEquals("Eletrônicos e Games", service.findById(existingId).getCategories().get(0).getName());
+    }
+
+    private Cache productsCache() {
+        return cacheManager.getCache(CacheConfig.PRODUCTS);
+    }
+
+    private CacheStats productsStats() {
+        TransactionAwareCacheDecorator decorator = (TransactionAwareCacheDecorator) productsCache();
+        return ((CaffeineCache) decorator.getTargetCache()).getNativeCache().stats();
+    }
+}
@@ -1,7 +1,14 @@
 package com.devsuperior.dscatalog.services;
 
+import com.devsuperior.dscatalog.dto.BatchResultDTO;
+import com.devsuperior.dscatalog.dto.BulkResultDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.PriceAdjustmentDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.repositories.ChangeEventRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.PreconditionFailedException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +20,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @SpringBootTest
 @Transactional // Garantir que a cada test o banco faça rollback
 public class ProductServiceIT {
@@ -23,6 +36,9 @@ public class ProductServiceIT {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
     private long existingId;
     private long nonExistingId;
     private long countTotalProducts;
@@ -82,4 +98,125 @@ public class ProductServiceIT {
         Assertions.assertEquals("PC Gamer", result.getContent().get(1).getName());
         Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(2).getName());
     }
+
+    @Test
+    public void findAllAfterShouldWalkWholeCatalogWithoutRepeatingProducts() {
+        Set<Long> ids = new HashSet<>();
+        String after = "";
+        CursorSliceDTO<ProductDTO> slice;
+        do {
+            slice = service.findAllAfter(after, 10);
+            slice.getContent().forEach(p -> ids.add(p.getId()));
+            after = slice.getNext();
+        } while (slice.isHasNext());
+
+        Assertions.assertEquals(countTotalProducts, ids.size());
+    }
+
+    @Test
+    public void findAllPagedShouldFilterByCategoryAndPriceSortedByPrice() {
+        ProductFilterDTO filter = new ProductFilterDTO(3L, 1000.0, 1500.0, null);
+
+        Page<ProductDTO> result = service.findAllPaged(filter, PageRequest.of(0, 10, Sort.by("price")), false);
+
+        Assertions.assertEquals(8, result.getTotalElements());
+        Assertions.assertEquals("PC Gamer", result.getContent().get(0).getName());
+        Assertions.assertTrue(result.getContent().stream().allMatch(p -> p.getCategories().get(0).getId() == 3L));
+    }
+
+    @Test
+    public void findAllPagedShouldLoadDescriptionOnlyWhenRequested() {
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("name"));
+
+        Page<ProductDTO> summaries = service.findAllPaged(pageRequest, false);
+        Page<ProductDTO> detailed = service.findAllPaged(pageRequest, true);
+
+        Assertions.assertNull(summaries.getContent().get(0).getDescription());
+        Assertions.assertNotNull(detailed.getContent().get(0).getDescription());
+        Assertions.assertFalse(summaries.getContent().get(0).getCategories().isEmpty());
+        Assertions.assertEquals(countTotalProducts, detailed.getTotalElements());
+    }
+
+    @Test
+    public void insertAllShouldInsertValidItemsAndReportInvalidOnes() throws Exception {
+        String json = "["
+                + "{\"name\": \"Kindle\", \"price\": 500.0, \"date\": \"2020-10-20T03:00:00Z\", \"categories\": [{\"id\": 1}, {\"id\": 2}]},"
+                + "{\"name\": \"Ghost\", \"price\": 10.0, \"categories\": [{\"id\": 999}]},"
+                + "{\"name\": \"\", \"price\": 10.0},"
+                + "{\"name\": \"Bad price\", \"price\": \"abc\"},"
+                + "{\"name\": \"Mouse\", \"price\": 50.0}"
+                + "]";
+
+        BatchResultDTO result = service.insertAll(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(5, result.getReceived());
+        Assertions.assertEquals(2, result.getInserted());
+        Assertions.assertEquals(3, result.getFailed());
+        Assertions.assertEquals(1, result.getErrors().get(0).getIndex());
+        Assertions.assertEquals(2, result.getErrors().get(1).getIndex());
+        Assertions.assertEquals(3, result.getErrors().get(2).getIndex());
+        Assertions.assertEquals(countTotalProducts + 2, repository.count());
+        Assertions.assertEquals(2, service.findById(countTotalProducts + 1).getCategories().size());
+    }
+
+    @Test
+    public void insertAllShouldWriteItemsAcrossSeveralChunks() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1234; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"name\": \"Item ").append(i).append("\", \"price\": 1.0, \"categories\": [{\"id\": 3}]}");
+        }
+        json.append("]");
+        long eventsBefore = changeEventRepository.count();
+
+        BatchResultDTO result = service.insertAll(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(1234, result.getInserted());
+        Assertions.assertEquals(countTotalProducts + 1234, repository.count());
+        Assertions.assertEquals(eventsBefore + 1234, changeEventRepository.count());
+    }
+
+    @Test
+    public void deleteAllShouldDeleteExistingProductsAndReportAffectedRows() {
+        BulkResultDTO result = service.deleteAll(List.of(existingId, 2L, 2L, nonExistingId));
+
+        Assertions.assertEquals(3, result.getRequested());
+        Assertions.assertEquals(2, result.getAffected());
+        Assertions.assertEquals(countTotalProducts - 2, repository.count());
+        Assertions.assertTrue(repository.searchCategories(List.of(existingId, 2L)).isEmpty());
+    }
+
+    @Test
+    public void adjustPricesShouldUpdateOnlyProductsOfCategory() {
+        BulkResultDTO result = service.adjustPrices(new PriceAdjustmentDTO(2L, 10.0));
+
+        Assertions.assertEquals(2, result.getAffected());
+        Assertions.assertEquals(99.55, repository.findById(existingId).get().getPrice());
+        Assertions.assertEquals(2190.0, repository.findById(2L).get().getPrice());
+    }
+
+    @Test
+    public void adjustPricesShouldThrowResourceNotFoundExceptionWhenCategoryDoesNotExist() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            service.adjustPrices(new PriceAdjustmentDTO(nonExistingId, 10.0));
+        });
+    }
+
+    @Test
+    public void updateShouldIncrementVersionWhenExpectedVersionMatches() {
+        ProductDTO dto = service.findById(existingId);
+        dto.setName("Updated name");
+
+        ProductDTO result = service.update(existingId, dto, 0L);
+
+        Assertions.assertEquals(1L, result.getVersion());
+    }
+
+    @Test
+    public void updateShouldThrowPreconditionFailedExceptionWhenExpectedVersionIsStale() {
+        ProductDTO dto = service.findById(existingId);
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> {
+            service.update(existingId, dto, 5L);
+        });
+    }
 }
@@ -1,13 +1,19 @@
 package com.devsuperior.dscatalog.services;
 
+import com.devsuperior.dscatalog.dto.PriceAdjustmentDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.ChangeEvent.EntityType;
+import com.devsuperior.dscatalog.entities.ChangeEvent.Operation;
 import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.factory.ProductFactory;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidDataException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,11 +47,24 @@ public class ProductServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private CatalogVersionService catalogVersion;
+
+    @Mock
+    private ChangeEventService changeEvents;
+
+    @Mock
+    private TombstoneService tombstones;
+
     private long existingId;
     private long nonExistingId;
 
     private long dependentId;
     private PageImpl<Product> page;
+    private PageImpl<ProductDTO> summaryPage;
     private Product product;
     private ProductDTO productDTO;
     private Category category;
@@ -59,11 +78,14 @@ public class ProductServiceTests {
         product = ProductFactory.createProduct();
         productDTO = ProductFactory.createProductDTO();
         page = new PageImpl<>(List.of(product)); // instancia um objeto page do tipo PageImpl<> adicionnado um produto na lista.
+        summaryPage = new PageImpl<>(List.of(new ProductDTO(product.getId(), product.getName(), product.getPrice(),
+                product.getImgUrl(), product.getDate())));
 
         // Configuração do comportamento Simulado do repository para teste de unidade.
 
         // findAll
         when(repository.findAll((Pageable) ArgumentMatchers.any())).thenReturn(page);
+        when(repository.searchSummaries(ArgumentMatchers.any())).thenReturn(summaryPage);
 
         //Insert
         when(repository.save(ArgumentMatchers.any())).thenReturn(product);
@@ -94,6 +116,7 @@ public class ProductServiceTests {
     public void UpdateShouldReturnProductDTOWhenIdExists() {
         productDTO = service.update(existingId, productDTO);
         assertNotNull(productDTO);
+        verify(catalogVersion).increment();
     }
 
     @Test
@@ -124,7 +147,9 @@ public class ProductServiceTests {
         Page<ProductDTO> result = service.findAllPaged(pageable);
 
         assertNotNull(result);
-        verify(repository, times(1)).findAll(pageable);
+        assertNull(result.getContent().get(0).getDescription());
+        verify(repository, times(1)).searchSummaries(pageable);
+        verify(repository, never()).findAll(pageable);
     }
 
     @Test
@@ -149,5 +174,59 @@ public class ProductServiceTests {
             service.delete(existingId);
         });
         verify(repository, times(1)).deleteById(existingId);
+        verify(catalogVersion).increment();
+        verify(changeEvents).record(EntityType.PRODUCT, existingId, Operation.DELETED);
+    }
+
+    @Test
+    public void searchShouldReturnProductsInRelevanceOrder() {
+        ProductDTO first = new ProductDTO(2L, "Smart TV", 2190.0, "", null);
+        ProductDTO second = new ProductDTO(1L, "Controle", 90.0, "", null);
+        when(searchIndex.search("tv", 0, 10)).thenReturn(new ProductSearchIndex.Hits(2, List.of(2L, 1L)));
+        when(repository.searchSummariesByIds(List.of(2L, 1L))).thenReturn(List.of(second, first));
+
+        Page<ProductDTO> result = service.search("tv", PageRequest.of(0, 10));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(2L, 1L), result.map(ProductDTO::getId).getContent());
+    }
+
+    @Test
+    public void searchShouldThrowInvalidDataExceptionWhenQueryIsBlank() {
+        assertThrows(InvalidDataException.class, () -> service.search(" ", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void deleteAllShouldThrowInvalidDataExceptionWhenIdsAreEmpty() {
+        assertThrows(InvalidDataException.class, () -> service.deleteAll(List.of()));
+
+        verify(repository, never()).bulkDelete(any());
+    }
+
+    @Test
+    public void deleteAllShouldThrowDatabaseExceptionWhenIntegrityIsViolated() {
+        doThrow(DataIntegrityViolationException.class).when(repository).bulkDelete(any());
+
+        assertThrows(DatabaseException.class, () -> service.deleteAll(List.of(dependentId)));
+    }
+
+    @Test
+    public void adjustPricesShouldThrowInvalidDataExceptionWhenPercentIsNotAboveMinus100() {
+        assertThrows(InvalidDataException.class, () -> service.adjustPrices(new PriceAdjustmentDTO(null, -100.0)));
+        assertThrows(InvalidDataException.class, () -> service.adjustPrices(new PriceAdjustmentDTO(null, null)));
+
+        verify(repository, never()).bulkAdjustPrice(anyDouble(), any());
+    }
+
+    @Test
+    public void mergePatchShouldReplaceRemoveAndKeepFieldsPerRfc7386() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode target = mapper.readTree("{\"name\": \"TV\", \"price\": 10.0, \"imgUrl\": \"a.png\", \"extra\": {\"a\": 1, \"b\": 2}}");
+        JsonNode patch = mapper.readTree("{\"price\": 12.5, \"imgUrl\": null, \"extra\": {\"b\": null, \"c\": 3}}");
+
+        JsonNode result = ProductService.mergePatch(target, patch);
+
+        assertEquals(mapper.readTree("{\"name\": \"TV\", \"price\": 12.5, \"extra\": {\"a\": 1, \"c\": 3}}"), result);
+        assertEquals(10.0, target.get("price").asDouble());
     }
 }